@@ -0,0 +1,22 @@
+package com.example.studentmanagement.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 과목/강의 코드 번호의 마지막 발급 값 (키 = "subject:{학과코드}" 또는 "section:{과목코드}").
+ * CodeAllocator 가 JDBC 로만 읽고 쓰며, 스키마 생성(ddl-auto) 용으로만 매핑한다.
+ * 노드가 메모리에 받아 둔 블록까지 포함한 값이라 DB 에 저장된 코드보다 앞서 있을 수 있고, 줄어들지 않는다.
+ */
+@Entity
+@Table(name = "code_sequence")
+@Getter @Setter
+@NoArgsConstructor
+public class CodeSequence {
+    @Id
+    @Column(name = "seq_key", length = 64)
+    private String seqKey;
+
+    @Column(name = "last_value", nullable = false)
+    private Long lastValue;
+}
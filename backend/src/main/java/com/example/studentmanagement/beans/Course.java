@@ -34,14 +34,14 @@ public class Course {
     @Column(name = "semester")
     private Integer semester;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "s_code")
     private Subject subject;
 
     @Column(name = "course_class", length = 10)
     private String courseClass;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "professor_no", referencedColumnName = "m_no")
     private Member professor;
 
@@ -51,7 +51,11 @@ public class Course {
     @Column(name = "classroom", length = 50)
     private String classroom;
 
-    @OneToMany(mappedBy = "course", fetch = FetchType.EAGER, cascade = jakarta.persistence.CascadeType.ALL, orphanRemoval = true)
+    // 대기열 정원 (null 이면 정원 초과 시 대기열 없이 바로 거절)
+    @Column(name = "waitlist_capacity")
+    private Integer waitlistCapacity;
+
+    @OneToMany(mappedBy = "course", fetch = FetchType.LAZY, cascade = jakarta.persistence.CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<CourseSchedule> courseSchedules;
 
@@ -0,0 +1,33 @@
+package com.example.studentmanagement.beans;
+
+/**
+ * enroll.lua 스크립트의 반환 코드와 1:1로 대응하는 수강신청 처리 결과.
+ */
+public enum EnrollmentAdmissionResult {
+    ADMITTED(0),
+    ALREADY_ENROLLED(1),
+    COURSE_FULL(2),
+    CAPACITY_UNKNOWN(3),
+    WAITLISTED(4);
+
+    private final long code;
+
+    EnrollmentAdmissionResult(long code) {
+        this.code = code;
+    }
+
+    public long getCode() {
+        return code;
+    }
+
+    public static EnrollmentAdmissionResult fromCode(Long code) {
+        if (code != null) {
+            for (EnrollmentAdmissionResult result : values()) {
+                if (result.code == code) {
+                    return result;
+                }
+            }
+        }
+        throw new IllegalStateException("Unknown admission result code: " + code);
+    }
+}
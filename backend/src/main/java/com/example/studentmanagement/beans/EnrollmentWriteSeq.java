@@ -0,0 +1,30 @@
+package com.example.studentmanagement.beans;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 수강신청 write-behind 가 (학생, 강의) 별로 마지막으로 반영한 Redis Stream 순번.
+ * EnrollmentDbWriterService 가 JDBC 로만 읽고 쓰며, 스키마 생성(ddl-auto) 용으로만 매핑한다.
+ * 취소로 enrollment 행이 지워진 뒤에도 남아서, 늦게 재처리된 신청 요청이 취소를 되돌리지 못하게 한다.
+ */
+@Entity
+@Table(name = "enrollment_write_seq",
+        uniqueConstraints = @UniqueConstraint(name = "uk_enrollment_write_seq", columnNames = {"stu_no", "course_code"}))
+@Getter @Setter
+@NoArgsConstructor
+public class EnrollmentWriteSeq {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "stu_no", length = 20, nullable = false)
+    private String stuNo;
+
+    @Column(name = "course_code", length = 20, nullable = false)
+    private String courseCode;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
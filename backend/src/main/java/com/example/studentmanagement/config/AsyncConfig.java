@@ -1,16 +1,54 @@
 package com.example.studentmanagement.config;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Configuration
 @EnableAsync
 public class AsyncConfig {
 
+    /**
+     * enrollmentExecutor 가 포화됐을 때의 동작.
+     * CALLER_RUNS: 제출한 스레드(write-behind drainer)가 직접 실행해서 읽기 속도를 늦춘다.
+     * SHED: 작업을 거절하고, 잠시 동안 신규 수강신청을 503 으로 돌려보낸다.
+     * SPILL: 작업을 거절하되 요청은 스트림에 남겨 두었다가 나중에 재처리한다.
+     */
+    public enum SaturationPolicy {
+        CALLER_RUNS,
+        SHED,
+        SPILL
+    }
+
+    @Value("${enrollment.executor.core-pool-size:8}")
+    private int enrollmentCorePoolSize;
+
+    @Value("${enrollment.executor.max-pool-size:16}")
+    private int enrollmentMaxPoolSize;
+
+    @Value("${enrollment.executor.queue-capacity:100}")
+    private int enrollmentQueueCapacity;
+
+    @Value("${enrollment.executor.virtual-threads:false}")
+    private boolean enrollmentVirtualThreads;
+
+    @Value("${enrollment.executor.saturation-policy:SPILL}")
+    private SaturationPolicy enrollmentSaturationPolicy;
+
     @Bean(name = "threadPoolTaskExecutor")
     public Executor threadPoolTaskExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -21,4 +59,71 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    @Bean(name = "enrollmentExecutor")
+    public AsyncTaskExecutor enrollmentExecutor(MeterRegistry meterRegistry) {
+        AtomicInteger active = new AtomicInteger();
+        Timer waitTimer = Timer.builder("enrollment.executor.wait")
+                .description("Time enrollment tasks spend queued before running")
+                .register(meterRegistry);
+        Timer runTimer = Timer.builder("enrollment.executor.run")
+                .description("Execution time of enrollment tasks")
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("enrollment.executor.rejected")
+                .description("Enrollment tasks rejected because the executor was saturated")
+                .register(meterRegistry);
+        Counter callerRuns = Counter.builder("enrollment.executor.caller_runs")
+                .description("Enrollment tasks run on the submitting thread because the executor was saturated")
+                .register(meterRegistry);
+        Gauge.builder("enrollment.executor.active", active, AtomicInteger::get)
+                .description("Enrollment tasks currently running")
+                .register(meterRegistry);
+
+        TaskDecorator decorator = task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                long startedAt = System.nanoTime();
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                active.incrementAndGet();
+                try {
+                    task.run();
+                } finally {
+                    active.decrementAndGet();
+                    runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+
+        RejectedExecutionHandler policy = enrollmentSaturationPolicy == SaturationPolicy.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(enrollmentCorePoolSize);
+        executor.setMaxPoolSize(enrollmentMaxPoolSize);
+        executor.setQueueCapacity(enrollmentQueueCapacity);
+        executor.setThreadNamePrefix("Enrollment-");
+        executor.setTaskDecorator(decorator);
+        if (enrollmentVirtualThreads) {
+            // 가상 스레드 모드도 같은 큐/최대 스레드 수/포화 정책을 쓴다 (스레드만 가상 스레드로 만든다)
+            executor.setThreadFactory(Thread.ofVirtual().name("Enrollment-", 0).factory());
+        }
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            // CALLER_RUNS 는 작업이 제출 스레드에서 실행되므로 거절로 세지 않는다
+            if (enrollmentSaturationPolicy == SaturationPolicy.CALLER_RUNS) {
+                callerRuns.increment();
+            } else {
+                rejected.increment();
+            }
+            policy.rejectedExecution(task, pool);
+        });
+        executor.initialize();
+
+        Gauge.builder("enrollment.executor.queue.depth", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Enrollment tasks waiting in the executor queue")
+                .register(meterRegistry);
+        Gauge.builder("enrollment.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .register(meterRegistry);
+        return executor;
+    }
 }
@@ -42,6 +42,7 @@ public class SecurityConfig {
                         "/api/login",
                         "/api/register",
                         "/api/refreshtoken",
+                        "/api/logout",          // access token 이 만료되어도 refresh 세션은 지울 수 있도록
                         "/api/hello",
                         "/error",
                         "/actuator/**",
@@ -1,10 +1,9 @@
 package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.beans.AcademicSchedule;
+import com.example.studentmanagement.dto.CursorPageDTO;
 import com.example.studentmanagement.repository.AcademicScheduleRepository;
-import org.springframework.http.ResponseEntity;
-import com.example.studentmanagement.beans.AcademicSchedule;
-import com.example.studentmanagement.repository.AcademicScheduleRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -20,9 +19,20 @@ public class AcademicScheduleController {
         this.academicScheduleRepository = academicScheduleRepository;
     }
 
+    // size 를 주면 cursor(scheduleId) 이후 size 건만 커서 페이지로 조회
     @GetMapping
-    public ResponseEntity<List<AcademicSchedule>> getAllSchedules() {
-        return ResponseEntity.ok(academicScheduleRepository.findAll());
+    public ResponseEntity<?> getAllSchedules(
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        if (size == null) {
+            return ResponseEntity.ok(academicScheduleRepository.findAll());
+        }
+        int limit = CursorPageDTO.limit(size);
+        List<AcademicSchedule> window = academicScheduleRepository.findByScheduleIdGreaterThanOrderByScheduleIdAsc(
+                cursor != null ? cursor : 0, PageRequest.of(0, limit + 1));
+        return ResponseEntity.ok(CursorPageDTO.of(window, limit, AcademicSchedule::getScheduleId,
+                includeTotal ? academicScheduleRepository.count() : null));
     }
 
     @PostMapping
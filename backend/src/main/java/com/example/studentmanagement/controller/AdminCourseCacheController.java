@@ -0,0 +1,25 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.service.CourseCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/course-cache")
+public class AdminCourseCacheController {
+
+    private final CourseCacheService courseCacheService;
+
+    public AdminCourseCacheController(CourseCacheService courseCacheService) {
+        this.courseCacheService = courseCacheService;
+    }
+
+    // 강의 정원 캐시 재적재
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Object>> refresh() {
+        long version = courseCacheService.refresh();
+        return ResponseEntity.ok(Map.of("version", version));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import com.example.studentmanagement.service.CourseImportService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/admin/courses")
+public class AdminCourseImportController {
+
+    private final CourseImportService courseImportService;
+
+    public AdminCourseImportController(CourseImportService courseImportService) {
+        this.courseImportService = courseImportService;
+    }
+
+    // 강의 일괄 등록 (format=csv|jsonl, 생략하면 파일 확장자로 판단). 실패한 행은 행 번호와 사유를 함께 반환한다.
+    @PostMapping("/import")
+    public ResponseEntity<?> importCourses(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "format", required = false) String format) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("업로드된 파일이 없습니다.");
+        }
+        if (format == null) {
+            String name = file.getOriginalFilename();
+            format = name != null && name.toLowerCase().endsWith(".csv") ? "csv" : "jsonl";
+        }
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(courseImportService.importCourses(in, format));
+        } catch (ServiceOverloadedException e) {
+            throw e; // 시간표 색인 적재 전 등 일시적 거절은 503 으로 응답 (GlobalExceptionHandler)
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().body("강의 일괄 등록 중 오류 발생: " + e.getMessage());
+        }
+    }
+}
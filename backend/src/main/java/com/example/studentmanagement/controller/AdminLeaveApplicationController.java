@@ -1,11 +1,18 @@
 package com.example.studentmanagement.controller;
 
+import com.example.studentmanagement.dto.CursorPageDTO;
 import com.example.studentmanagement.dto.LeaveApplicationDTO;
 import com.example.studentmanagement.service.LeaveApplicationService;
+import com.example.studentmanagement.util.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -13,16 +20,28 @@ import java.util.Map;
 @RequestMapping("/api/admin/leave-applications")
 public class AdminLeaveApplicationController {
 
+    private static final List<String> CSV_HEADER = List.of("applicationId", "studentNo", "studentName", "leaveType",
+            "startYear", "startSemester", "endYear", "endSemester", "applicationReason", "applicationDate",
+            "approvalStatus", "approvalDate", "approverNo", "approverName", "rejectReason");
+
     private final LeaveApplicationService leaveApplicationService;
+    private final ObjectMapper objectMapper;
 
-    public AdminLeaveApplicationController(LeaveApplicationService leaveApplicationService) {
+    public AdminLeaveApplicationController(LeaveApplicationService leaveApplicationService, ObjectMapper objectMapper) {
         this.leaveApplicationService = leaveApplicationService;
+        this.objectMapper = objectMapper;
     }
 
-    // 모든 휴학 신청 조회
+    // 모든 휴학 신청 조회 (size 를 주면 cursor 이후 size 건만 커서 페이지로 조회)
     @GetMapping
-    public ResponseEntity<List<LeaveApplicationDTO>> getAllApplications() {
+    public ResponseEntity<?> getAllApplications(
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         try {
+            if (size != null) {
+                return ResponseEntity.ok(leaveApplicationService.getApplicationsPage(cursor, CursorPageDTO.limit(size), includeTotal));
+            }
             List<LeaveApplicationDTO> applications = leaveApplicationService.getAllApplications();
             return ResponseEntity.ok(applications);
         } catch (Exception e) {
@@ -31,6 +50,26 @@ public class AdminLeaveApplicationController {
         }
     }
 
+    // 휴학 신청 전체 내보내기 (format=json|csv, DB 에서 한 행씩 읽어 바로 응답에 기록)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportApplications(
+            @RequestParam(value = "format", defaultValue = "json") String format) {
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<LeaveApplicationDTO> writer = ExportWriter.of(format, out, objectMapper, CSV_HEADER,
+                    row -> Arrays.asList(row.getApplicationId(), row.getStudentNo(), row.getStudentName(), row.getLeaveType(),
+                            row.getStartYear(), row.getStartSemester(), row.getEndYear(), row.getEndSemester(),
+                            row.getApplicationReason(), row.getApplicationDate(), row.getApprovalStatus(),
+                            row.getApprovalDate(), row.getApproverNo(), row.getApproverName(), row.getRejectReason()))) {
+                leaveApplicationService.exportApplications(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportWriter.contentType(format)))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + ExportWriter.fileName("leave-applications", format) + "\"")
+                .body(body);
+    }
+
     // 특정 휴학 신청 조회
     @GetMapping("/{applicationId}")
     public ResponseEntity<?> getApplicationById(@PathVariable("applicationId") Integer applicationId) {
@@ -1,28 +1,47 @@
 package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.BatchTuitionRequestDTO;
+import com.example.studentmanagement.dto.CursorPageDTO;
 import com.example.studentmanagement.dto.StudentTuitionStatusDTO;
 import com.example.studentmanagement.dto.TuitionDTO;
 import com.example.studentmanagement.service.TuitionService;
+import com.example.studentmanagement.util.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin/tuitions")
 public class AdminTuitionController {
 
+    private static final List<String> CSV_HEADER = List.of("tuitionId", "studentNo", "studentName", "academicYear", "semester",
+            "tuitionAmount", "scholarshipAmount", "paidAmount", "billDate", "dueDate", "paidDate", "paymentMethod",
+            "receiptNo", "paymentStatus");
+
     private final TuitionService tuitionService;
+    private final ObjectMapper objectMapper;
 
-    public AdminTuitionController(TuitionService tuitionService) {
+    public AdminTuitionController(TuitionService tuitionService, ObjectMapper objectMapper) {
         this.tuitionService = tuitionService;
+        this.objectMapper = objectMapper;
     }
 
-    // 모든 등록금 조회
+    // 모든 등록금 조회 (size 를 주면 cursor 이후 size 건만 커서 페이지로 조회)
     @GetMapping
-    public ResponseEntity<List<TuitionDTO>> getAllTuitions() {
+    public ResponseEntity<?> getAllTuitions(
+            @RequestParam(value = "cursor", required = false) Integer cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         try {
+            if (size != null) {
+                return ResponseEntity.ok(tuitionService.getTuitionsPage(cursor, CursorPageDTO.limit(size), includeTotal));
+            }
             List<TuitionDTO> tuitions = tuitionService.getAllTuitions();
             return ResponseEntity.ok(tuitions);
         } catch (Exception e) {
@@ -31,6 +50,26 @@ public class AdminTuitionController {
         }
     }
 
+    // 등록금 전체 내보내기 (format=json|csv, DB 에서 한 행씩 읽어 바로 응답에 기록)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTuitions(
+            @RequestParam(value = "format", defaultValue = "json") String format) {
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<TuitionDTO> writer = ExportWriter.of(format, out, objectMapper, CSV_HEADER,
+                    row -> Arrays.asList(row.getTuitionId(), row.getStudentNo(), row.getStudentName(), row.getAcademicYear(),
+                            row.getSemester(), row.getTuitionAmount(), row.getScholarshipAmount(), row.getPaidAmount(),
+                            row.getBillDate(), row.getDueDate(), row.getPaidDate(), row.getPaymentMethod(),
+                            row.getReceiptNo(), row.getPaymentStatus()))) {
+                tuitionService.exportTuitions(writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportWriter.contentType(format)))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + ExportWriter.fileName("tuitions", format) + "\"")
+                .body(body);
+    }
+
     // 등록금 ID로 조회
     @GetMapping("/{tuitionId}")
     public ResponseEntity<?> getTuitionById(@PathVariable Integer tuitionId) {
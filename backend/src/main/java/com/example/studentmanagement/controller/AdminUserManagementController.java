@@ -1,30 +1,49 @@
 package com.example.studentmanagement.controller;
 
+import com.example.studentmanagement.dto.CursorPageDTO;
 import com.example.studentmanagement.dto.UserManagementDTO;
 import com.example.studentmanagement.service.UserManagementService;
+import com.example.studentmanagement.util.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin/users")
 public class AdminUserManagementController {
 
+    private static final List<String> CSV_HEADER = List.of("memberNo", "memberName", "memberType", "email", "phone",
+            "deptCode", "deptName", "stuGrade", "enrollmentStatus", "officeLocation", "position");
+
     private final UserManagementService userManagementService;
+    private final ObjectMapper objectMapper;
 
-    public AdminUserManagementController(UserManagementService userManagementService) {
+    public AdminUserManagementController(UserManagementService userManagementService, ObjectMapper objectMapper) {
         this.userManagementService = userManagementService;
+        this.objectMapper = objectMapper;
     }
 
-    // 사용자 목록 조회 (필터링 포함)
+    // 사용자 목록 조회 (필터링 포함, size 를 주면 cursor 이후 size 건만 커서 페이지로 조회)
     @GetMapping
-    public ResponseEntity<List<UserManagementDTO>> getAllUsers(
+    public ResponseEntity<?> getAllUsers(
             @RequestParam(value = "memberType", required = false) String memberType,
             @RequestParam(value = "deptCode", required = false) String deptCode,
             @RequestParam(value = "stuGrade", required = false) Integer stuGrade,
-            @RequestParam(value = "searchName", required = false) String searchName) {
+            @RequestParam(value = "searchName", required = false) String searchName,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
         try {
+            if (size != null) {
+                return ResponseEntity.ok(userManagementService.getUsersPage(
+                        memberType, deptCode, stuGrade, searchName, cursor, CursorPageDTO.limit(size), includeTotal));
+            }
             List<UserManagementDTO> users = userManagementService.getAllUsers(
                     memberType, deptCode, stuGrade, searchName);
             return ResponseEntity.ok(users);
@@ -34,6 +53,29 @@ public class AdminUserManagementController {
         }
     }
 
+    // 사용자 목록 내보내기 (목록 조회와 같은 필터, format=json|csv, DB 에서 한 행씩 읽어 바로 응답에 기록)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(value = "memberType", required = false) String memberType,
+            @RequestParam(value = "deptCode", required = false) String deptCode,
+            @RequestParam(value = "stuGrade", required = false) Integer stuGrade,
+            @RequestParam(value = "searchName", required = false) String searchName,
+            @RequestParam(value = "format", defaultValue = "json") String format) {
+        StreamingResponseBody body = out -> {
+            try (ExportWriter<UserManagementDTO> writer = ExportWriter.of(format, out, objectMapper, CSV_HEADER,
+                    row -> Arrays.asList(row.getMemberNo(), row.getMemberName(), row.getMemberType(), row.getEmail(),
+                            row.getPhone(), row.getDeptCode(), row.getDeptName(), row.getStuGrade(),
+                            row.getEnrollmentStatus(), row.getOfficeLocation(), row.getPosition()))) {
+                userManagementService.exportUsers(memberType, deptCode, stuGrade, searchName, writer);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(ExportWriter.contentType(format)))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + ExportWriter.fileName("users", format) + "\"")
+                .body(body);
+    }
+
     // 특정 사용자 조회
     @GetMapping("/{memberNo}")
     public ResponseEntity<?> getUserByMemberNo(@PathVariable String memberNo) {
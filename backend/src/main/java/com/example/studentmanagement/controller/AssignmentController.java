@@ -6,10 +6,11 @@ import com.example.studentmanagement.dto.AssignmentSubmissionDto;
 import com.example.studentmanagement.dto.AssignmentDto;
 import com.example.studentmanagement.dto.AssignmentSubmissionDto;
 import com.example.studentmanagement.service.AssignmentService;
-import com.example.studentmanagement.util.JwtUtil;
+import com.example.studentmanagement.util.AuthPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -27,13 +28,11 @@ import java.util.HashMap;
 public class AssignmentController {
 
     private final AssignmentService assignmentService;
-    private final JwtUtil jwtUtil;
 
     @GetMapping("/course/{courseCode}")
-    public List<Map<String, Object>> getAssignmentsByCourse(@PathVariable("courseCode") String courseCode, @RequestHeader("Authorization") String authorizationHeader) {
+    public List<Map<String, Object>> getAssignmentsByCourse(@PathVariable("courseCode") String courseCode, @AuthenticationPrincipal AuthPrincipal principal) {
         System.out.println("--- [AssignmentController] getAssignmentsByCourse ---");
-        String token = authorizationHeader.substring(7);
-        String studentId = jwtUtil.getMemberNoFromToken(token);
+        String studentId = principal.memberNo();
         List<AssignmentDto> assignments = assignmentService.findByCourseCode(courseCode, studentId);
 
         // Convert to List<Map<String, Object>> to avoid serialization issues
@@ -78,22 +77,20 @@ public class AssignmentController {
 
     @PostMapping("/{assignmentId}/submit")
     public ResponseEntity<Void> submitAssignment(@PathVariable("assignmentId") Long assignmentId,
-                                                 @RequestHeader("Authorization") String authorizationHeader,
+                                                 @AuthenticationPrincipal AuthPrincipal principal,
                                                  @RequestParam(value = "content", required = false, defaultValue = "") String content,
                                                  @RequestParam(value = "file", required = false) MultipartFile file) throws IOException {
-        String token = authorizationHeader.substring(7);
-        String studentId = jwtUtil.getMemberNoFromToken(token);
+        String studentId = principal.memberNo();
         assignmentService.submitAssignment(assignmentId, studentId, content, file);
         return ResponseEntity.ok().build();
     }
 
     @PutMapping("/submissions/{submissionId}")
     public ResponseEntity<Void> updateSubmission(@PathVariable("submissionId") Long submissionId,
-                                                 @RequestHeader("Authorization") String authorizationHeader,
+                                                 @AuthenticationPrincipal AuthPrincipal principal,
                                                  @RequestParam(value = "content", required = false, defaultValue = "") String content,
                                                  @RequestParam(value = "file", required = false) MultipartFile file) throws IOException {
-        String token = authorizationHeader.substring(7);
-        String studentId = jwtUtil.getMemberNoFromToken(token);
+        String studentId = principal.memberNo();
         assignmentService.updateSubmission(submissionId, studentId, content, file);
         return ResponseEntity.ok().build();
     }
@@ -105,9 +102,8 @@ public class AssignmentController {
 
     @DeleteMapping("/submissions/{submissionId}")
     public ResponseEntity<Void> deleteSubmission(@PathVariable("submissionId") Long submissionId,
-                                                 @RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7);
-        String studentId = jwtUtil.getMemberNoFromToken(token);
+                                                 @AuthenticationPrincipal AuthPrincipal principal) {
+        String studentId = principal.memberNo();
         assignmentService.deleteSubmission(submissionId, studentId);
         return ResponseEntity.ok().build();
     }
@@ -2,13 +2,11 @@ package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.beans.Attendance;
 import com.example.studentmanagement.beans.Enrollment;
-import com.example.studentmanagement.beans.Member;
 import com.example.studentmanagement.repository.AttendanceRepository;
 import com.example.studentmanagement.repository.EnrollmentRepository;
-import com.example.studentmanagement.repository.MemberRepository;
+import com.example.studentmanagement.util.AuthPrincipal;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
@@ -20,12 +18,10 @@ public class AttendanceController {
 
     private final AttendanceRepository attendanceRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final MemberRepository memberRepository;
 
-    public AttendanceController(AttendanceRepository attendanceRepository, EnrollmentRepository enrollmentRepository, MemberRepository memberRepository) {
+    public AttendanceController(AttendanceRepository attendanceRepository, EnrollmentRepository enrollmentRepository) {
         this.attendanceRepository = attendanceRepository;
         this.enrollmentRepository = enrollmentRepository;
-        this.memberRepository = memberRepository;
     }
 
     @GetMapping
@@ -104,17 +100,9 @@ public class AttendanceController {
     }
 
     @GetMapping("/student")
-    public ResponseEntity<?> getStudentAttendance() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String studentLoginId = authentication.getName();
-
-        // 1. 로그인 ID로 Member(학생) 정보 조회
-        Optional<Member> memberOptional = memberRepository.findById(studentLoginId);
-        if (memberOptional.isEmpty()) {
-            return ResponseEntity.status(404).body("학생 정보를 찾을 수 없습니다.");
-        }
-        // 2. 조회된 정보에서 학번(m_no) 추출
-        String studentNo = memberOptional.get().getMemberNo();
+    public ResponseEntity<?> getStudentAttendance(@AuthenticationPrincipal AuthPrincipal principal) {
+        // 학번은 토큰에서 (member 재조회 없음)
+        String studentNo = principal.memberNo();
 
         List<Attendance> attendanceList = attendanceRepository.findByEnrollment_Student_MemberNo(studentNo);
         
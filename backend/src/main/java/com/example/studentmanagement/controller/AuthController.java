@@ -6,8 +6,12 @@ import com.example.studentmanagement.beans.StudentMember;
 import com.example.studentmanagement.beans.ProfessorMember;
 import com.example.studentmanagement.repository.DepartmentRepository;
 import com.example.studentmanagement.repository.MemberRepository;
+import com.example.studentmanagement.service.RefreshTokenService;
+import com.example.studentmanagement.service.TokenRevocationService;
+import com.example.studentmanagement.util.AuthPrincipal;
 import com.example.studentmanagement.util.JwtUtil;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.text.ParseException;
@@ -25,11 +29,16 @@ public class AuthController {
     private final MemberRepository memberRepository;
     private final DepartmentRepository departmentRepository;
     private final JwtUtil jwtUtil;
+    private final TokenRevocationService revocationService;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(MemberRepository memberRepository, DepartmentRepository departmentRepository, JwtUtil jwtUtil) {
+    public AuthController(MemberRepository memberRepository, DepartmentRepository departmentRepository, JwtUtil jwtUtil,
+                          TokenRevocationService revocationService, RefreshTokenService refreshTokenService) {
         this.memberRepository = memberRepository;
         this.departmentRepository = departmentRepository;
         this.jwtUtil = jwtUtil;
+        this.revocationService = revocationService;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/register")
@@ -106,8 +115,9 @@ public class AuthController {
         Member member = memberRepository.findByMemberId(userId).orElse(null);
 
         if (member != null && member.getPassword().equals(password)) {
-            String token = jwtUtil.generateToken(member.getMemberId(), member.getMemberType(), member.getMemberNo());
-            String refreshToken = jwtUtil.createRefreshToken(member.getMemberId());
+            String token = jwtUtil.generateToken(member.getMemberId(), member.getMemberType(), member.getMemberNo(),
+                    member.getDepartment() != null ? member.getDepartment().getDeptCode() : null);
+            String refreshToken = refreshTokenService.issue(member.getMemberId());
 
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
@@ -138,22 +148,40 @@ public class AuthController {
 
     @PostMapping("/refreshtoken")
     public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> request) {
-        String memberId = request.get("memberId");
-        String requestRefreshToken = request.get("refreshToken");
-
-        String storedRefreshToken = jwtUtil.getRefreshToken(memberId);
-
-        if (storedRefreshToken != null && storedRefreshToken.equals(requestRefreshToken)) {
-            Member member = memberRepository.findByMemberId(memberId).orElseThrow(() -> new RuntimeException("Member not found"));
-            String newAccessToken = jwtUtil.generateToken(member.getMemberId(), member.getMemberType(), member.getMemberNo());
-            String newRefreshToken = jwtUtil.createRefreshToken(member.getMemberId());
-            Map<String, String> response = new HashMap<>();
-            response.put("accessToken", newAccessToken);
-            response.put("refreshToken", newRefreshToken);
-            return ResponseEntity.ok(response);
-        } else {
+        // 세션 조회/비교/교체는 Redis 에서 한 번에 처리하고, 회원 ID 는 요청 값이 아닌 세션에 저장된 값을 쓴다
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.get("refreshToken"));
+
+        if (rotation.status() == RefreshTokenService.Status.CONCURRENT) {
+            // 다른 탭이 방금 교체함: 세션은 유지되므로 클라이언트는 저장된 새 토큰으로 다시 시도하면 된다
+            return ResponseEntity.status(409).body("Refresh token already rotated");
+        }
+        if (rotation.status() != RefreshTokenService.Status.ROTATED) {
             return ResponseEntity.status(401).body("Invalid refresh token");
         }
+
+        Member member = memberRepository.findByMemberId(rotation.memberId()).orElse(null);
+        if (member == null) {
+            refreshTokenService.revoke(rotation.refreshToken());
+            return ResponseEntity.status(401).body("Invalid refresh token");
+        }
+        String newAccessToken = jwtUtil.generateToken(member.getMemberId(), member.getMemberType(), member.getMemberNo(),
+                member.getDepartment() != null ? member.getDepartment().getDeptCode() : null);
+        Map<String, String> response = new HashMap<>();
+        response.put("accessToken", newAccessToken);
+        response.put("refreshToken", rotation.refreshToken());
+        return ResponseEntity.ok(response);
+    }
+
+    // 현재 access token 을 만료 전에 폐기하고, refresh token 을 함께 보내면 그 세션도 지운다
+    // (access token 이 없거나 만료/폐기된 경우 principal 은 null 이고 refresh 세션만 지운다)
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@AuthenticationPrincipal AuthPrincipal principal,
+                                    @RequestBody(required = false) Map<String, String> request) {
+        revocationService.revoke(principal);
+        if (request != null) {
+            refreshTokenService.revoke(request.get("refreshToken"));
+        }
+        return ResponseEntity.ok("로그아웃 되었습니다.");
     }
 
     @GetMapping("/check-id")
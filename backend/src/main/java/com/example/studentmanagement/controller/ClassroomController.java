@@ -0,0 +1,76 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.service.TimetableService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.DateTimeException;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// 강의실 사용 현황 조회 (강의 시간표 기준)
+@RestController
+@RequestMapping("/api/classrooms")
+public class ClassroomController {
+
+    private final TimetableService timetableService;
+
+    public ClassroomController(TimetableService timetableService) {
+        this.timetableService = timetableService;
+    }
+
+    // 강의에 배정된 강의실 목록
+    @GetMapping
+    public ResponseEntity<List<String>> getClassrooms() {
+        return ResponseEntity.ok(timetableService.getRooms());
+    }
+
+    // 해당 시간에 비어 있는 강의실 목록 (예: ?dayOfWeek=1&startTime=09:00&endTime=10:30)
+    @GetMapping("/free")
+    public ResponseEntity<?> getFreeClassrooms(
+            @RequestParam("dayOfWeek") int dayOfWeek,
+            @RequestParam("startTime") String startTime,
+            @RequestParam("endTime") String endTime) {
+        Optional<TimetableService.TimeBlock> block = parseBlock(dayOfWeek, startTime, endTime);
+        if (block.isEmpty()) {
+            return ResponseEntity.badRequest().body("요일(1~7)과 시작/종료 시간(HH:mm)을 확인해주세요.");
+        }
+        return ResponseEntity.ok(timetableService.findFreeRooms(List.of(block.get())));
+    }
+
+    // 특정 강의실이 해당 시간에 비어 있는지 확인
+    @GetMapping("/{classroom}/availability")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable("classroom") String classroom,
+            @RequestParam("dayOfWeek") int dayOfWeek,
+            @RequestParam("startTime") String startTime,
+            @RequestParam("endTime") String endTime) {
+        Optional<TimetableService.TimeBlock> block = parseBlock(dayOfWeek, startTime, endTime);
+        if (block.isEmpty()) {
+            return ResponseEntity.badRequest().body("요일(1~7)과 시작/종료 시간(HH:mm)을 확인해주세요.");
+        }
+        Optional<String> conflict = timetableService.findRoomConflict(classroom, List.of(block.get()), null);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("classroom", classroom);
+        response.put("free", conflict.isEmpty());
+        response.put("conflictCourseCode", conflict.orElse(null));
+        return ResponseEntity.ok(response);
+    }
+
+    private Optional<TimetableService.TimeBlock> parseBlock(int dayOfWeek, String startTime, String endTime) {
+        try {
+            LocalTime start = LocalTime.parse(startTime);
+            LocalTime end = LocalTime.parse(endTime);
+            if (dayOfWeek < 1 || dayOfWeek > 7 || !start.isBefore(end)) {
+                return Optional.empty();
+            }
+            return Optional.of(new TimetableService.TimeBlock(dayOfWeek, start, end));
+        } catch (DateTimeException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -1,19 +1,15 @@
 package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.beans.CourseAnnouncement;
-import com.example.studentmanagement.beans.Member;
 import com.example.studentmanagement.dto.CourseAnnouncementDTO; // DTO import
 import com.example.studentmanagement.repository.CourseAnnouncementRepository;
 import com.example.studentmanagement.repository.EnrollmentRepository;
-import com.example.studentmanagement.repository.MemberRepository;
+import com.example.studentmanagement.util.AuthPrincipal;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/course-notices")
@@ -21,12 +17,10 @@ public class CourseAnnouncementController {
 
     private final CourseAnnouncementRepository repository;
     private final EnrollmentRepository enrollmentRepository;
-    private final MemberRepository memberRepository;
 
-    public CourseAnnouncementController(CourseAnnouncementRepository repository, EnrollmentRepository enrollmentRepository, MemberRepository memberRepository) {
+    public CourseAnnouncementController(CourseAnnouncementRepository repository, EnrollmentRepository enrollmentRepository) {
         this.repository = repository;
         this.enrollmentRepository = enrollmentRepository;
-        this.memberRepository = memberRepository;
     }
 
     // 1. 목록 조회 (DTO로 반환해서 이름까지 보냄)
@@ -57,18 +51,11 @@ public class CourseAnnouncementController {
 
     // 4. 학생이 수강 중인 모든 강의의 최신 공지사항 조회
     @GetMapping("/my-latest")
-    public ResponseEntity<List<CourseAnnouncementDTO>> getMyLatestAnnouncements() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String studentLoginId = authentication.getName();
+    public ResponseEntity<List<CourseAnnouncementDTO>> getMyLatestAnnouncements(@AuthenticationPrincipal AuthPrincipal principal) {
+        // 학번은 토큰에서 (member 재조회 없음)
+        String studentNo = principal.memberNo();
 
-        Optional<Member> memberOptional = memberRepository.findById(studentLoginId);
-        if (memberOptional.isEmpty()) {
-            return ResponseEntity.status(404).body(List.of());
-        }
-        String studentNo = memberOptional.get().getMemberNo();
-
-        List<com.example.studentmanagement.beans.Course> courses = enrollmentRepository.findCoursesByStudentNoWithDetails(studentNo);
-        List<String> courseCodes = courses.stream().map(com.example.studentmanagement.beans.Course::getCourseCode).collect(Collectors.toList());
+        List<String> courseCodes = enrollmentRepository.findCourseCodesByStudentNo(studentNo);
 
         if (courseCodes.isEmpty()) {
             return ResponseEntity.ok(List.of());
@@ -81,18 +68,11 @@ public class CourseAnnouncementController {
 
     // 5. 학생이 수강 중인 모든 강의의 모든 공지사항 조회
     @GetMapping("/my")
-    public ResponseEntity<List<CourseAnnouncementDTO>> getMyAllAnnouncements() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String studentLoginId = authentication.getName();
-
-        Optional<Member> memberOptional = memberRepository.findById(studentLoginId);
-        if (memberOptional.isEmpty()) {
-            return ResponseEntity.status(404).body(List.of());
-        }
-        String studentNo = memberOptional.get().getMemberNo();
+    public ResponseEntity<List<CourseAnnouncementDTO>> getMyAllAnnouncements(@AuthenticationPrincipal AuthPrincipal principal) {
+        // 학번은 토큰에서 (member 재조회 없음)
+        String studentNo = principal.memberNo();
 
-        List<com.example.studentmanagement.beans.Course> courses = enrollmentRepository.findCoursesByStudentNoWithDetails(studentNo);
-        List<String> courseCodes = courses.stream().map(com.example.studentmanagement.beans.Course::getCourseCode).collect(Collectors.toList());
+        List<String> courseCodes = enrollmentRepository.findCourseCodesByStudentNo(studentNo);
 
         if (courseCodes.isEmpty()) {
             return ResponseEntity.ok(List.of());
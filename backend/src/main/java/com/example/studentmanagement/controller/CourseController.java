@@ -6,24 +6,33 @@ import com.example.studentmanagement.beans.Course;
 import com.example.studentmanagement.beans.CourseSchedule;
 import com.example.studentmanagement.beans.Member;
 import com.example.studentmanagement.beans.Department;
-import com.example.studentmanagement.beans.Subject;
 import com.example.studentmanagement.dto.CourseDTO;
+import com.example.studentmanagement.dto.CursorPageDTO;
+import com.example.studentmanagement.exception.ServiceOverloadedException;
 import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.CourseScheduleRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
 import com.example.studentmanagement.repository.EnrollmentRepository;
 import com.example.studentmanagement.repository.MemberRepository;
 import com.example.studentmanagement.repository.SubjectRepository;
+import com.example.studentmanagement.service.CodeAllocator;
+import com.example.studentmanagement.service.CourseCacheService;
+import com.example.studentmanagement.service.CourseCatalogService;
+import com.example.studentmanagement.service.CourseQueryService;
+import com.example.studentmanagement.service.SeatCountService;
+import com.example.studentmanagement.service.TimetableService;
+import com.example.studentmanagement.util.AuthPrincipal;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.DateTimeException;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -36,16 +45,31 @@ public class CourseController {
     private final CourseScheduleRepository courseScheduleRepository;
     private final EnrollmentRepository enrollmentRepository;
     private final DepartmentRepository departmentRepository;
+    private final CourseCacheService courseCacheService;
+    private final SeatCountService seatCountService;
+    private final CourseCatalogService courseCatalogService;
+    private final TimetableService timetableService;
+    private final CodeAllocator codeAllocator;
+    private final CourseQueryService courseQueryService;
 
     public CourseController(CourseRepository courseRepository, MemberRepository memberRepository,
             SubjectRepository subjectRepository, CourseScheduleRepository courseScheduleRepository,
-            EnrollmentRepository enrollmentRepository, DepartmentRepository departmentRepository) {
+            EnrollmentRepository enrollmentRepository, DepartmentRepository departmentRepository,
+            CourseCacheService courseCacheService, SeatCountService seatCountService,
+            CourseCatalogService courseCatalogService, TimetableService timetableService,
+            CodeAllocator codeAllocator, CourseQueryService courseQueryService) {
         this.courseRepository = courseRepository;
         this.memberRepository = memberRepository;
         this.subjectRepository = subjectRepository;
         this.courseScheduleRepository = courseScheduleRepository;
         this.enrollmentRepository = enrollmentRepository;
         this.departmentRepository = departmentRepository;
+        this.courseCacheService = courseCacheService;
+        this.seatCountService = seatCountService;
+        this.courseCatalogService = courseCatalogService;
+        this.timetableService = timetableService;
+        this.codeAllocator = codeAllocator;
+        this.courseQueryService = courseQueryService;
     }
 
     // Get all courses for student registration or search courses
@@ -53,105 +77,48 @@ public class CourseController {
     public ResponseEntity<List<CourseDTO>> searchCourses(
             @RequestParam(required = false) String department,
             @RequestParam(required = false) String type,
-            @RequestParam(required = false) String keyword) {
-        
-        List<Course> courses;
-
-        if (department != null && !department.isEmpty()) {
-            if (keyword != null && !keyword.isEmpty()) {
-                if ("courseName".equals(type)) {
-                    courses = courseRepository.findBySubject_Department_DeptNameAndSubject_sNameContaining(department, keyword);
-                } else if ("courseCode".equals(type)) {
-                    courses = courseRepository.findBySubject_Department_DeptNameAndCourseCodeContaining(department, keyword);
-                } else {
-                    courses = courseRepository.findBySubject_Department_DeptName(department);
-                }
-            } else {
-                courses = courseRepository.findBySubject_Department_DeptName(department);
-            }
-        } else if (keyword != null && !keyword.isEmpty()) {
-            if ("courseName".equals(type)) {
-                courses = courseRepository.findBySubject_sNameContaining(keyword);
-            } else if ("courseCode".equals(type)) {
-                courses = courseRepository.findByCourseCodeContaining(keyword);
-            } else {
-                courses = courseRepository.findAll();
-            }
-        } else {
-            courses = courseRepository.findAll();
-        }
-
-        List<CourseDTO> courseDTOs = courses.stream()
-                .map(course -> {
-                    int currentStudents = (int) enrollmentRepository.countByCourse_CourseCode(course.getCourseCode());
-                    String professorName = course.getProfessor() != null ? course.getProfessor().getName() : "N/A";
-                    List<CourseSchedule> schedules = course.getCourseSchedules();
-                    int credit = course.getSubject() != null ? course.getSubject().getCredit() : 0;
-                    return new CourseDTO(course, currentStudents, professorName, schedules, credit);
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDTOs);
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Integer academicYear,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        CourseCatalogService.SearchPage result =
+                courseCatalogService.search(department, type, keyword, academicYear, semester, page, size);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(result.total()))
+                .body(result.content());
     }
 
-    // Get all courses for student registration
+    // Get all courses for student registration (size 를 주면 cursor 강의코드 이후 size 건만 커서 페이지로 조회)
     @GetMapping
-    public ResponseEntity<List<CourseDTO>> getAllCourses() {
-        List<Course> courses = courseRepository.findAll();
-        List<CourseDTO> courseDTOs = courses.stream()
-                .map(course -> {
-                    int currentStudents = (int) enrollmentRepository.countByCourse_CourseCode(course.getCourseCode());
-                    String professorName = course.getProfessor() != null ? course.getProfessor().getName() : "N/A";
-                    List<CourseSchedule> schedules = course.getCourseSchedules();
-                    int credit = course.getSubject() != null ? course.getSubject().getCredit() : 0;
-                    return new CourseDTO(course, currentStudents, professorName, schedules, credit);
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDTOs);
+    public ResponseEntity<?> getAllCourses(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
+        if (size != null) {
+            return ResponseEntity.ok(courseCatalogService.getPage(cursor, CursorPageDTO.limit(size), includeTotal));
+        }
+        return ResponseEntity.ok(courseCatalogService.getAll());
     }
 
     // Get courses for the currently logged-in student
     @GetMapping("/my")
-    public ResponseEntity<List<CourseDTO>> getMyCourses() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String studentLoginId = authentication.getName();
+    public ResponseEntity<List<CourseDTO>> getMyCourses(@AuthenticationPrincipal AuthPrincipal principal) {
+        // 1. 학번은 토큰에서 (member 재조회 없음)
+        String studentNo = principal.memberNo();
 
-        // 1. 로그인 ID로 학번 조회
-        Member student = memberRepository.findById(studentLoginId)
-                .orElseThrow(() -> new RuntimeException("학생 정보를 찾을 수 없습니다."));
-        String studentNo = student.getMemberNo();
+        // 2. 강의 정보는 projection, 시간표는 IN 쿼리 한 번으로 조회 (엔티티 로딩 없음)
+        List<CourseDTO> courses = courseQueryService.findByStudentNo(studentNo);
 
-        // 2. 최적화된 쿼리로 강의 정보 한번에 조회 (N+1 해결)
-        List<Course> courses = enrollmentRepository.findCoursesByStudentNoWithDetails(studentNo);
-        
-        // 3. 수강 인원 정보를 한 번의 쿼리로 조회
-        List<String> courseCodes = courses.stream().map(Course::getCourseCode).collect(Collectors.toList());
-        Map<String, Long> studentCounts = enrollmentRepository.findAllByCourse_CourseCodeIn(courseCodes).stream()
-                .collect(Collectors.groupingBy(e -> e.getCourse().getCourseCode(), Collectors.counting()));
-
-        List<CourseDTO> courseDTOs = courses.stream()
-                .map(course -> {
-                    int currentStudents = studentCounts.getOrDefault(course.getCourseCode(), 0L).intValue();
-                    String professorName = course.getProfessor() != null ? course.getProfessor().getName() : "N/A";
-                    List<CourseSchedule> schedules = course.getCourseSchedules();
-                    int credit = course.getSubject() != null ? course.getSubject().getCredit() : 0;
-                    return new CourseDTO(course, currentStudents, professorName, schedules, credit);
-                })
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(courseDTOs);
+        // 3. 수강 인원은 Redis 카운터 / GROUP BY 집계로 일괄 조회
+        return ResponseEntity.ok(withSeatCounts(courses));
     }
 
     // Get a single course by courseCode
     @GetMapping("/{courseCode}")
     public ResponseEntity<CourseDTO> getCourseByCode(@PathVariable("courseCode") String courseCode) {
-        return courseRepository.findById(courseCode)
-                .map(course -> {
-                    int currentStudents = (int) enrollmentRepository.countByCourse_CourseCode(course.getCourseCode());
-                    String professorName = course.getProfessor() != null ? course.getProfessor().getName() : "N/A";
-                    List<CourseSchedule> schedules = course.getCourseSchedules();
-                    int credit = course.getSubject() != null ? course.getSubject().getCredit() : 0;
-                    CourseDTO courseDTO = new CourseDTO(course, currentStudents, professorName, schedules, credit);
-                    return ResponseEntity.ok(courseDTO);
-                })
+        return courseCatalogService.get(courseCode)
+                .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -160,17 +127,8 @@ public class CourseController {
     public ResponseEntity<?> getCoursesByProfessor(@PathVariable("professorId") String professorId) {
         try {
             System.out.println("Fetching courses for professorNo: " + professorId);
-            List<Course> courses = courseRepository.findByProfessor_MemberNo(professorId);
-            List<CourseDTO> courseDTOs = courses.stream()
-                .map(course -> {
-                    int currentStudents = (int) enrollmentRepository.countByCourse_CourseCode(course.getCourseCode());
-                    String professorName = course.getProfessor() != null ? course.getProfessor().getName() : "N/A";
-                    List<CourseSchedule> schedules = course.getCourseSchedules();
-                    int credit = course.getSubject() != null ? course.getSubject().getCredit() : 0;
-                    return new CourseDTO(course, currentStudents, professorName, schedules, credit);
-                })
-                .collect(Collectors.toList());
-            System.out.println("Found courses: " + courses.size());
+            List<CourseDTO> courseDTOs = courseCatalogService.findByProfessor(professorId);
+            System.out.println("Found courses: " + courseDTOs.size());
             return ResponseEntity.ok(courseDTOs);
         } catch (Exception e) {
             e.printStackTrace();
@@ -189,6 +147,21 @@ public class CourseController {
                 return ResponseEntity.badRequest().body("Professor not found");
             }
 
+            // Check for professor / classroom schedule conflicts before saving anything
+            List<TimetableService.TimeBlock> timeBlocks;
+            try {
+                timeBlocks = parseTimeBlocks(payload);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                return ResponseEntity.badRequest().body("강의 시간이 올바르지 않습니다: " + e.getMessage());
+            }
+            if (timetableService.findProfessorConflict(professorNo, timeBlocks, null).isPresent()) {
+                return ResponseEntity.badRequest().body("이미 해당 시간에 할당된 강의가 있습니다.");
+            }
+            Optional<String> roomConflict = timetableService.findRoomConflict((String) payload.get("classroom"), timeBlocks, null);
+            if (roomConflict.isPresent()) {
+                return ResponseEntity.badRequest().body("해당 시간에 강의실을 사용하는 강의가 있습니다: " + roomConflict.get());
+            }
+
             // Determine Department (from payload or professor)
             String selectedDeptCode = (String) payload.get("deptCode");
             Department department = null;
@@ -199,21 +172,10 @@ public class CourseController {
                 department = professor.getDepartment();
             }
             
-            // Auto-generate Subject Code: [DeptCode] + [A-Z] + [4 Digits]
+            // Allocate codes from the per-department sequence: [DeptCode] + [5 Digits], [SubjectCode] + "_" + [Section 01~99]
             String deptCodeStr = department != null ? department.getDeptCode() : "GEN";
-            Random random = new Random();
-            char randomChar = (char) ('A' + random.nextInt(26));
-            int randomNum = random.nextInt(10000);
-            String subjectCode = String.format("%s%c%04d", deptCodeStr, randomChar, randomNum);
-
-            // Auto-generate Course Code: [SubjectCode] + "_" + [Order 01~99]
-            int courseCount = courseRepository.findByProfessor_MemberNo(professorNo).size();
-            int order = courseCount + 1;
-            String courseCode = String.format("%s_%02d", subjectCode, order);
-
-            if (courseRepository.existsById(courseCode)) {
-                return ResponseEntity.badRequest().body("이미 존재하는 강의 코드입니다.");
-            }
+            String subjectCode = codeAllocator.nextSubjectCode(deptCodeStr);
+            String courseCode = codeAllocator.nextCourseCode(subjectCode);
 
             Course course = new Course();
             course.setCourseCode(courseCode);
@@ -223,44 +185,21 @@ public class CourseController {
             course.setCourseClass((String) payload.get("courseClass"));
             course.setMaxStu(getInteger(payload, "maxStudents"));
             course.setClassroom((String) payload.get("classroom"));
+            course.setWaitlistCapacity(getInteger(payload, "waitlistCapacity"));
             course.setCourseStatus("OPEN");
             
-            // Create new subject
-            Subject subject = new Subject();
-            subject.setSCode(subjectCode);
-            subject.setSName((String) payload.get("subjectName"));
-            subject.setCredit(getInteger(payload, "credit"));
-            subject.setSType(getInteger(payload, "subjectType")); // Set Subject Type (Integer)
-            subject.setDepartment(department); // Assign selected or professor's dept
-            subjectRepository.save(subject);
-            
-            course.setSubject(subject);
-            course.setProfessor(professor);
+            // Create new subject (insert-only: a duplicate code fails instead of overwriting an existing subject)
+            subjectRepository.insert(subjectCode,
+                    (String) payload.get("subjectName"),
+                    getInteger(payload, "credit"),
+                    getInteger(payload, "subjectType"), // Subject Type (Integer)
+                    department != null ? department.getDeptCode() : null); // Selected or professor's dept
 
-            // Check for schedule conflicts before saving
-            if (payload.containsKey("courseSchedules")) {
-                @SuppressWarnings("unchecked")
-                List<Map<String, Object>> newSchedules = (List<Map<String, Object>>) payload.get("courseSchedules");
-
-                List<Course> existingCourses = courseRepository.findByProfessor_MemberNo(professorNo);
-                for (Map<String, Object> newScheduleMap : newSchedules) {
-                    int dayOfWeek = getInteger(newScheduleMap, "dayOfWeek");
-                    LocalTime startTime = LocalTime.parse((String) newScheduleMap.get("startTime"));
-                    LocalTime endTime = LocalTime.parse((String) newScheduleMap.get("endTime"));
-
-                    for (Course existingCourse : existingCourses) {
-                        for (CourseSchedule existingSchedule : existingCourse.getCourseSchedules()) {
-                            if (existingSchedule.getDayOfWeek() == dayOfWeek) {
-                                if (startTime.isBefore(existingSchedule.getEndTime()) && endTime.isAfter(existingSchedule.getStartTime())) {
-                                    return ResponseEntity.badRequest().body("이미 해당 시간에 할당된 강의가 있습니다.");
-                                }
-                            }
-                        }
-                    }
-                }
-            }
+            course.setSubject(subjectRepository.getReferenceById(subjectCode));
+            course.setProfessor(professor);
 
             courseRepository.save(course);
+            courseCacheService.cacheWaitlistCapacity(courseCode, course.getWaitlistCapacity());
 
             // Save course schedules
             if (payload.containsKey("courseSchedules")) {
@@ -275,9 +214,12 @@ public class CourseController {
                     courseScheduleRepository.save(schedule);
                 }
             }
+            courseCatalogService.courseChanged(courseCode);
             
             return ResponseEntity.ok("강의가 등록되었습니다.");
 
+        } catch (ServiceOverloadedException e) {
+            throw e; // 시간표 색인 적재 전 등 일시적 거절은 503 으로 응답 (GlobalExceptionHandler)
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.internalServerError().body("강의 등록 중 오류 발생: " + e.getMessage());
@@ -292,10 +234,23 @@ public class CourseController {
             if (payload.containsKey("courseContent")) course.setCourseContent((String) payload.get("courseContent"));
             if (payload.containsKey("evaluationMethod")) course.setEvaluationMethod((String) payload.get("evaluationMethod"));
             if (payload.containsKey("textbookInfo")) course.setTextbookInfo((String) payload.get("textbookInfo"));
+            boolean capacityChanged = false;
+            if (payload.containsKey("maxStudents")) {
+                course.setMaxStu(getInteger(payload, "maxStudents"));
+                capacityChanged = true;
+            }
+            if (payload.containsKey("waitlistCapacity")) {
+                course.setWaitlistCapacity(getInteger(payload, "waitlistCapacity"));
+                courseCacheService.cacheWaitlistCapacity(courseCode, course.getWaitlistCapacity());
+            }
             
             // Add other fields if editable
             
             courseRepository.save(course);
+            if (capacityChanged) {
+                courseCacheService.evictCapacity(courseCode);
+            }
+            courseCatalogService.courseChanged(courseCode);
             return ResponseEntity.ok("강의 정보가 수정되었습니다.");
         }).orElse(ResponseEntity.notFound().build());
     }
@@ -309,11 +264,39 @@ public class CourseController {
             
             // Delete the course
             courseRepository.delete(course);
+            courseCacheService.evictCourse(courseCode);
+            courseCatalogService.courseDeleted(courseCode);
             
             return ResponseEntity.ok("강의가 삭제되었습니다.");
         }).orElse(ResponseEntity.notFound().build());
     }
 
+    // 강의 목록의 수강 인원을 강의별 COUNT 대신 한 번에 조회해서 채운다
+    private List<CourseDTO> withSeatCounts(List<CourseDTO> courses) {
+        Map<String, Integer> seatCounts = seatCountService.getSeatCounts(
+                courses.stream().map(CourseDTO::getCourseCode).collect(Collectors.toList()));
+        courses.forEach(course -> course.setCurrentStudents(seatCounts.getOrDefault(course.getCourseCode(), 0)));
+        return courses;
+    }
+
+    private List<TimetableService.TimeBlock> parseTimeBlocks(Map<String, Object> payload) {
+        List<TimetableService.TimeBlock> blocks = new ArrayList<>();
+        if (payload.containsKey("courseSchedules")) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> schedules = (List<Map<String, Object>>) payload.get("courseSchedules");
+            for (Map<String, Object> scheduleMap : schedules) {
+                Integer dayOfWeek = getInteger(scheduleMap, "dayOfWeek");
+                LocalTime startTime = LocalTime.parse((String) scheduleMap.get("startTime"));
+                LocalTime endTime = LocalTime.parse((String) scheduleMap.get("endTime"));
+                if (dayOfWeek == null || dayOfWeek < 1 || dayOfWeek > 7 || !startTime.isBefore(endTime)) {
+                    throw new IllegalArgumentException(dayOfWeek + " " + startTime + "-" + endTime);
+                }
+                blocks.add(new TimetableService.TimeBlock(dayOfWeek, startTime, endTime));
+            }
+        }
+        return blocks;
+    }
+
     private Integer getInteger(Map<String, Object> payload, String key) {
         Object value = payload.get(key);
         if (value instanceof Number) {
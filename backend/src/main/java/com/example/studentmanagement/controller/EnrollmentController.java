@@ -1,11 +1,19 @@
 package com.example.studentmanagement.controller;
 
-import com.example.studentmanagement.beans.Enrollment;
+import com.example.studentmanagement.beans.EnrollmentAdmissionResult;
+import com.example.studentmanagement.dto.CourseDTO;
 import com.example.studentmanagement.dto.EnrollmentDTO;
+import com.example.studentmanagement.dto.EnrollmentRowDTO;
+import com.example.studentmanagement.service.CourseQueryService;
+import com.example.studentmanagement.service.EnrollmentRateLimiter;
 import com.example.studentmanagement.service.EnrollmentService;
+import com.example.studentmanagement.service.WaitingRoomService;
+import com.example.studentmanagement.util.AuthPrincipal;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -15,28 +23,70 @@ import java.util.stream.Collectors;
 public class EnrollmentController {
 
     private final EnrollmentService enrollmentService;
+    private final EnrollmentRateLimiter enrollmentRateLimiter;
+    private final WaitingRoomService waitingRoomService;
+    private final CourseQueryService courseQueryService;
 
-    public EnrollmentController(EnrollmentService enrollmentService) {
+    public EnrollmentController(EnrollmentService enrollmentService, EnrollmentRateLimiter enrollmentRateLimiter,
+                                WaitingRoomService waitingRoomService, CourseQueryService courseQueryService) {
         this.enrollmentService = enrollmentService;
+        this.enrollmentRateLimiter = enrollmentRateLimiter;
+        this.waitingRoomService = waitingRoomService;
+        this.courseQueryService = courseQueryService;
     }
 
     @GetMapping("/{studentId}")
     public ResponseEntity<List<EnrollmentDTO>> getEnrollments(@PathVariable("studentId") String studentId) {
-        List<Enrollment> enrollments = enrollmentService.getEnrollmentsByStudent(studentId);
+        List<EnrollmentRowDTO> enrollments = enrollmentService.getEnrollmentsByStudent(studentId);
+        Map<String, CourseDTO> courses = courseQueryService.findByCourseCodes(enrollments.stream()
+                .map(EnrollmentRowDTO::getCourseCode)
+                .collect(Collectors.toSet()));
         List<EnrollmentDTO> enrollmentDTOs = enrollments.stream()
-                .map(EnrollmentDTO::new)
+                .map(enrollment -> new EnrollmentDTO(enrollment, courses.get(enrollment.getCourseCode())))
                 .collect(Collectors.toList());
         return ResponseEntity.ok(enrollmentDTOs);
     }
 
     @PostMapping
-    public ResponseEntity<String> enrollCourse(@RequestBody Map<String, String> payload) {
+    public ResponseEntity<?> enrollCourse(@RequestBody Map<String, String> payload,
+                                          @AuthenticationPrincipal AuthPrincipal principal) {
         String studentId = payload.get("studentId");
         String courseCode = payload.get("courseCode");
-        enrollmentService.enrollCourse(studentId, courseCode);
+        // 다른 작업 전에 대기실 입장 여부(미입장 시 503)와 요청 한도(초과 시 429)부터 확인
+        waitingRoomService.checkAdmitted(principal.memberNo());
+        // 학생별 버킷은 요청 본문 값이 아닌 로그인 사용자 기준 (본문의 학번을 바꿔 가며 한도를 피하지 못하도록)
+        enrollmentRateLimiter.acquire(principal.memberNo(), courseCode);
+        EnrollmentAdmissionResult result = enrollmentService.enrollCourse(studentId, courseCode);
+        if (result == EnrollmentAdmissionResult.WAITLISTED) {
+            // 정원 초과 -> 대기열 등록. 재시도 대신 순번 조회 API 로 상태를 확인하도록 202 반환
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", "Course is full. Added to waitlist.");
+            response.put("position", enrollmentService.getWaitlistPosition(studentId, courseCode));
+            return ResponseEntity.accepted().body(response);
+        }
         return ResponseEntity.ok("Successfully enrolled.");
     }
 
+    @GetMapping("/waitlist/{courseCode}/{studentId}")
+    public ResponseEntity<?> getWaitlistPosition(@PathVariable("courseCode") String courseCode,
+                                                 @PathVariable("studentId") String studentId) {
+        Long position = enrollmentService.getWaitlistPosition(studentId, courseCode);
+        if (position == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("courseCode", courseCode);
+        response.put("position", position);
+        response.put("waitlistSize", enrollmentService.getWaitlistSize(courseCode));
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/waitlist")
+    public ResponseEntity<String> leaveWaitlist(@RequestBody Map<String, String> payload) {
+        enrollmentService.leaveWaitlist(payload.get("studentId"), payload.get("courseCode"));
+        return ResponseEntity.ok("Successfully left the waitlist.");
+    }
+
     @DeleteMapping
     public ResponseEntity<String> cancelEnrollment(@RequestBody Map<String, String> payload) {
         String studentId = payload.get("studentId");
@@ -4,16 +4,16 @@ import com.example.studentmanagement.beans.Course;
 import com.example.studentmanagement.beans.CourseSchedule;
 import com.example.studentmanagement.beans.Member;
 import com.example.studentmanagement.dto.ProfessorCourseResponse;
-import com.example.studentmanagement.repository.MemberRepository;
 import com.example.studentmanagement.repository.ProfessorMainRepository;
+import com.example.studentmanagement.service.SeatCountService;
+import com.example.studentmanagement.util.AuthPrincipal;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.format.DateTimeFormatter;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -21,30 +21,24 @@ import java.util.stream.Collectors;
 public class ProfessorMainController {
 
     private final ProfessorMainRepository professorMainRepository;
-    private final MemberRepository memberRepository;
+    private final SeatCountService seatCountService;
 
-    public ProfessorMainController(ProfessorMainRepository professorMainRepository, MemberRepository memberRepository) {
+    public ProfessorMainController(ProfessorMainRepository professorMainRepository, SeatCountService seatCountService) {
         this.professorMainRepository = professorMainRepository;
-        this.memberRepository = memberRepository;
+        this.seatCountService = seatCountService;
     }
 
     @GetMapping("/courses")
-    public ResponseEntity<?> getProfessorCourses() {
+    public ResponseEntity<?> getProfessorCourses(@AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            String professorLoginId = authentication.getName();
-            
-            // 1. 로그인 ID로 Member(교수) 정보 조회
-            Optional<Member> memberOptional = memberRepository.findById(professorLoginId);
-            if (memberOptional.isEmpty()) {
-                return ResponseEntity.status(404).body("교수 정보를 찾을 수 없습니다.");
-            }
-            // 2. 조회된 정보에서 교번(m_no) 추출
-            String professorNo = memberOptional.get().getMemberNo();
-            System.out.println("교수 강의 목록 조회 (로그인ID: " + professorLoginId + ", 교번: " + professorNo + ")");
+            // 1. 교번은 토큰에서 (member 재조회 없음)
+            String professorNo = principal.memberNo();
+            System.out.println("교수 강의 목록 조회 (로그인ID: " + principal.username() + ", 교번: " + professorNo + ")");
 
             // 3. 교번으로 강의 목록 조회
             List<Course> courses = professorMainRepository.findMyCourses(professorNo);
+            Map<String, Integer> seatCounts = seatCountService.getSeatCounts(
+                    courses.stream().map(Course::getCourseCode).collect(Collectors.toList()));
 
             // 2. 자바에서 DTO로 변환 (안전장치 가동)
             List<ProfessorCourseResponse> responseList = courses.stream().map(c -> {
@@ -53,7 +47,7 @@ public class ProfessorMainController {
                 int credit = (c.getSubject() != null) ? c.getSubject().getCredit() : 0;
                 
                 // 수강인원 조회
-                int studentCount = professorMainRepository.countStudents(c.getCourseCode());
+                int studentCount = seatCounts.getOrDefault(c.getCourseCode(), 0);
 
                 // 강의 시간 포맷팅
                 String courseTime = c.getCourseSchedules().stream()
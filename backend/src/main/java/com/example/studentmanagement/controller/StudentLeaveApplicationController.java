@@ -2,11 +2,9 @@ package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.LeaveApplicationDTO;
 import com.example.studentmanagement.service.LeaveApplicationService;
-import com.example.studentmanagement.util.JwtUtil;
-import io.jsonwebtoken.Claims;
-import jakarta.servlet.http.HttpServletRequest;
+import com.example.studentmanagement.util.AuthPrincipal;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -16,29 +14,16 @@ import java.util.List;
 public class StudentLeaveApplicationController {
 
     private final LeaveApplicationService leaveApplicationService;
-    private final JwtUtil jwtUtil;
 
-    public StudentLeaveApplicationController(LeaveApplicationService leaveApplicationService, JwtUtil jwtUtil) {
+    public StudentLeaveApplicationController(LeaveApplicationService leaveApplicationService) {
         this.leaveApplicationService = leaveApplicationService;
-        this.jwtUtil = jwtUtil;
-    }
-
-    // JWT에서 memberNo 추출 헬퍼 메서드
-    private String getMemberNoFromRequest(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            String jwt = authHeader.substring(7);
-            Claims claims = jwtUtil.extractAllClaims(jwt);
-            return claims.get("memberNo", String.class);
-        }
-        return null;
     }
 
     // 본인의 휴학 신청 목록 조회
     @GetMapping("/my")
-    public ResponseEntity<List<LeaveApplicationDTO>> getMyApplications(HttpServletRequest request) {
+    public ResponseEntity<List<LeaveApplicationDTO>> getMyApplications(@AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String studentNo = getMemberNoFromRequest(request);
+            String studentNo = principal.memberNo();
             if (studentNo == null) {
                 return ResponseEntity.status(401).build();
             }
@@ -52,9 +37,9 @@ public class StudentLeaveApplicationController {
 
     // 특정 휴학 신청 조회
     @GetMapping("/{applicationId}")
-    public ResponseEntity<?> getApplicationById(@PathVariable Integer applicationId, HttpServletRequest request) {
+    public ResponseEntity<?> getApplicationById(@PathVariable Integer applicationId, @AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String studentNo = getMemberNoFromRequest(request);
+            String studentNo = principal.memberNo();
             if (studentNo == null) {
                 return ResponseEntity.status(401).build();
             }
@@ -75,9 +60,9 @@ public class StudentLeaveApplicationController {
 
     // 휴학 신청 생성
     @PostMapping
-    public ResponseEntity<?> createApplication(@RequestBody LeaveApplicationDTO dto, HttpServletRequest request) {
+    public ResponseEntity<?> createApplication(@RequestBody LeaveApplicationDTO dto, @AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String studentNo = getMemberNoFromRequest(request);
+            String studentNo = principal.memberNo();
             if (studentNo == null) {
                 return ResponseEntity.status(401).build();
             }
@@ -101,9 +86,9 @@ public class StudentLeaveApplicationController {
     public ResponseEntity<?> updateApplication(
             @PathVariable Integer applicationId,
             @RequestBody LeaveApplicationDTO dto,
-            HttpServletRequest request) {
+            @AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String studentNo = getMemberNoFromRequest(request);
+            String studentNo = principal.memberNo();
             if (studentNo == null) {
                 return ResponseEntity.status(401).build();
             }
@@ -127,9 +112,9 @@ public class StudentLeaveApplicationController {
 
     // 휴학 신청 삭제
     @DeleteMapping("/{applicationId}")
-    public ResponseEntity<?> deleteApplication(@PathVariable Integer applicationId, HttpServletRequest request) {
+    public ResponseEntity<?> deleteApplication(@PathVariable Integer applicationId, @AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String studentNo = getMemberNoFromRequest(request);
+            String studentNo = principal.memberNo();
             if (studentNo == null) {
                 return ResponseEntity.status(401).build();
             }
@@ -153,9 +138,9 @@ public class StudentLeaveApplicationController {
 
     // 복학 신청 생성 (학생이 복학 신청 요청)
     @PostMapping("/return-request")
-    public ResponseEntity<?> requestReturn(@RequestBody LeaveApplicationDTO dto, HttpServletRequest request) {
+    public ResponseEntity<?> requestReturn(@RequestBody LeaveApplicationDTO dto, @AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String studentNo = getMemberNoFromRequest(request);
+            String studentNo = principal.memberNo();
             if (studentNo == null) {
                 return ResponseEntity.status(401).build();
             }
@@ -178,9 +163,9 @@ public class StudentLeaveApplicationController {
 
     // 본인의 현재 휴학 정보 조회
     @GetMapping("/my-leave-status")
-    public ResponseEntity<?> getMyLeaveStatus(HttpServletRequest request) {
+    public ResponseEntity<?> getMyLeaveStatus(@AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String studentNo = getMemberNoFromRequest(request);
+            String studentNo = principal.memberNo();
             if (studentNo == null) {
                 return ResponseEntity.status(401).build();
             }
@@ -2,8 +2,9 @@ package com.example.studentmanagement.controller;
 
 import com.example.studentmanagement.dto.TuitionDTO;
 import com.example.studentmanagement.service.TuitionService;
-import com.example.studentmanagement.util.JwtUtil;
+import com.example.studentmanagement.util.AuthPrincipal;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -13,18 +14,14 @@ import java.util.List;
 public class StudentTuitionController {
 
     private final TuitionService tuitionService;
-    private final JwtUtil jwtUtil;
-
-    public StudentTuitionController(TuitionService tuitionService, JwtUtil jwtUtil) {
+    public StudentTuitionController(TuitionService tuitionService) {
         this.tuitionService = tuitionService;
-        this.jwtUtil = jwtUtil;
     }
 
     @GetMapping("/my")
-    public ResponseEntity<List<TuitionDTO>> getMyTuitions(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<List<TuitionDTO>> getMyTuitions(@AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String jwt = token.substring(7);
-            String studentNo = jwtUtil.getMemberNoFromToken(jwt);
+            String studentNo = principal.memberNo();
             List<TuitionDTO> tuitions = tuitionService.getTuitionsByStudent(studentNo);
             return ResponseEntity.ok(tuitions);
         } catch (Exception e) {
@@ -34,10 +31,9 @@ public class StudentTuitionController {
     }
 
     @PutMapping("/{tuitionId}/confirm")
-    public ResponseEntity<?> confirmMyTuitionPayment(@PathVariable Integer tuitionId, @RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> confirmMyTuitionPayment(@PathVariable Integer tuitionId, @AuthenticationPrincipal AuthPrincipal principal) {
         try {
-            String jwt = token.substring(7);
-            String studentNo = jwtUtil.getMemberNoFromToken(jwt);
+            String studentNo = principal.memberNo();
             
             // 본인의 등록금인지 확인
             TuitionDTO tuition = tuitionService.getTuitionById(tuitionId);
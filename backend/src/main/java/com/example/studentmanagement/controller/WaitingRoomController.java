@@ -0,0 +1,32 @@
+package com.example.studentmanagement.controller;
+
+import com.example.studentmanagement.service.WaitingRoomService;
+import com.example.studentmanagement.util.AuthPrincipal;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/waiting-room")
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    public WaitingRoomController(WaitingRoomService waitingRoomService) {
+        this.waitingRoomService = waitingRoomService;
+    }
+
+    // 번호표 발급 (이미 받은 경우 같은 번호 반환). 수강신청 입장 확인과 같은 로그인 사용자 기준으로 발급한다
+    @PostMapping("/tickets")
+    public ResponseEntity<Map<String, Object>> issueTicket(@AuthenticationPrincipal AuthPrincipal principal) {
+        return ResponseEntity.ok(waitingRoomService.issueTicket(principal.memberNo()));
+    }
+
+    // 대기 상태 폴링
+    @GetMapping("/tickets/{ticket}")
+    public ResponseEntity<Map<String, Object>> getStatus(@PathVariable("ticket") long ticket) {
+        return ResponseEntity.ok(waitingRoomService.getStatus(ticket));
+    }
+}
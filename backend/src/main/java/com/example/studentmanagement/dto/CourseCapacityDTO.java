@@ -0,0 +1,7 @@
+package com.example.studentmanagement.dto;
+
+public interface CourseCapacityDTO {
+    String getCourseCode();
+    Integer getMaxStu();
+    Integer getWaitlistCapacity();
+}
@@ -1,16 +1,16 @@
 package com.example.studentmanagement.dto;
 
-import com.example.studentmanagement.beans.Course;
-import com.example.studentmanagement.beans.CourseSchedule;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public class CourseDTO {
+    // 평가 방법 JSON 파싱용 (DTO 마다 새로 만들지 않음)
+    private static final ObjectMapper EVALUATION_MAPPER = new ObjectMapper();
+
     private String courseCode;
     private int academicYear;
     private int semester;
@@ -29,24 +29,45 @@ public class CourseDTO {
     private int credit;
     private String departmentName;
 
-    public CourseDTO(Course course, int currentStudents, String professorName, List<CourseSchedule> schedules, int credit) {
-        this.courseCode = course.getCourseCode();
-        this.academicYear = course.getAcademicYear();
-        this.semester = course.getSemester();
-        this.courseClass = course.getCourseClass();
-        this.maxStu = course.getMaxStu();
-        this.classroom = course.getClassroom();
-        this.courseStatus = course.getCourseStatus();
-        this.courseObjectives = course.getCourseObjectives();
-        this.courseContent = course.getCourseContent();
-        this.evaluationMethod = parseEvaluationMethod(course.getEvaluationMethod());
-        this.textbookInfo = course.getTextbookInfo();
-        this.subjectName = course.getSubject() != null ? course.getSubject().getSName() : "N/A";
-        this.professorName = professorName;
+    // projection 행과 시간표로 조립 (엔티티 로딩 없음). 수강 인원은 응답 시점에 따로 채운다.
+    public CourseDTO(CourseRowDTO row, List<ScheduleDTO> schedules) {
+        this.courseCode = row.getCourseCode();
+        this.academicYear = row.getAcademicYear() != null ? row.getAcademicYear() : 0;
+        this.semester = row.getSemester() != null ? row.getSemester() : 0;
+        this.courseClass = row.getCourseClass();
+        this.maxStu = row.getMaxStu() != null ? row.getMaxStu() : 0;
+        this.classroom = row.getClassroom();
+        this.courseStatus = row.getCourseStatus();
+        this.courseObjectives = row.getCourseObjectives();
+        this.courseContent = row.getCourseContent();
+        this.evaluationMethod = parseEvaluationMethod(row.getEvaluationMethod());
+        this.textbookInfo = row.getTextbookInfo();
+        this.subjectName = row.getSubjectName() != null ? row.getSubjectName() : "N/A";
+        this.professorName = row.getProfessorName() != null ? row.getProfessorName() : "N/A";
+        this.schedules = schedules;
+        this.credit = row.getCredit() != null ? row.getCredit() : 0;
+        this.departmentName = row.getDepartmentName() != null ? row.getDepartmentName() : "N/A";
+    }
+
+    // 카탈로그 스냅샷에 공유된 DTO 는 수정하지 않고, 응답마다 수강 인원만 바꾼 사본을 만든다
+    public CourseDTO(CourseDTO source, int currentStudents) {
+        this.courseCode = source.courseCode;
+        this.academicYear = source.academicYear;
+        this.semester = source.semester;
+        this.courseClass = source.courseClass;
+        this.maxStu = source.maxStu;
+        this.classroom = source.classroom;
+        this.courseStatus = source.courseStatus;
+        this.courseObjectives = source.courseObjectives;
+        this.courseContent = source.courseContent;
+        this.evaluationMethod = source.evaluationMethod;
+        this.textbookInfo = source.textbookInfo;
+        this.subjectName = source.subjectName;
+        this.professorName = source.professorName;
         this.currentStudents = currentStudents;
-        this.schedules = schedules.stream().map(ScheduleDTO::new).collect(Collectors.toList());
-        this.credit = credit;
-        this.departmentName = course.getSubject() != null && course.getSubject().getDepartment() != null ? course.getSubject().getDepartment().getDeptName() : "N/A";
+        this.schedules = source.schedules;
+        this.credit = source.credit;
+        this.departmentName = source.departmentName;
     }
 
     // Getters and Setters
@@ -136,8 +157,7 @@ public class CourseDTO {
             return null;
         }
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            return mapper.readValue(json, new TypeReference<Map<String, Object>>() {});
+            return EVALUATION_MAPPER.readValue(json, new TypeReference<Map<String, Object>>() {});
         } catch (JsonProcessingException e) {
             // Handle exception, e.g., log it and return an empty map or null
             e.printStackTrace();
@@ -206,10 +226,10 @@ public class CourseDTO {
         private String startTime;
         private String endTime;
 
-        public ScheduleDTO(CourseSchedule schedule) {
-            this.dayOfWeek = schedule.getDayOfWeek();
-            this.startTime = schedule.getStartTime().toString();
-            this.endTime = schedule.getEndTime().toString();
+        public ScheduleDTO(CourseScheduleRowDTO row) {
+            this.dayOfWeek = row.getDayOfWeek();
+            this.startTime = row.getStartTime().toString();
+            this.endTime = row.getEndTime().toString();
         }
 
         // Getters and Setters
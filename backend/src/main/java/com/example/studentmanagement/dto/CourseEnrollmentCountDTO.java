@@ -0,0 +1,6 @@
+package com.example.studentmanagement.dto;
+
+public interface CourseEnrollmentCountDTO {
+    String getCourseCode();
+    Long getEnrolled();
+}
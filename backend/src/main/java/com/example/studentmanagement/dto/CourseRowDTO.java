@@ -0,0 +1,21 @@
+package com.example.studentmanagement.dto;
+
+// CourseDTO 에 필요한 컬럼만 담는 projection (과목/학과/교수는 조인해서 이름만 가져옴)
+public interface CourseRowDTO {
+    String getCourseCode();
+    Integer getAcademicYear();
+    Integer getSemester();
+    String getCourseClass();
+    Integer getMaxStu();
+    String getClassroom();
+    String getCourseStatus();
+    String getCourseObjectives();
+    String getCourseContent();
+    String getEvaluationMethod();
+    String getTextbookInfo();
+    String getSubjectName();
+    Integer getCredit();
+    String getDepartmentName();
+    String getProfessorNo();
+    String getProfessorName();
+}
@@ -0,0 +1,10 @@
+package com.example.studentmanagement.dto;
+
+import java.time.LocalTime;
+
+public interface CourseScheduleRowDTO {
+    String getCourseCode();
+    Integer getDayOfWeek();
+    LocalTime getStartTime();
+    LocalTime getEndTime();
+}
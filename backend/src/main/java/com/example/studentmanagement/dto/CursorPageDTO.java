@@ -0,0 +1,41 @@
+package com.example.studentmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서(keyset) 기반 목록 응답.
+ * nextCursor 는 이 페이지 마지막 항목의 정렬 키이며, 다음 요청의 cursor 로 그대로 넘기면 된다 (마지막 페이지면 null).
+ * totalCount 는 includeTotal=true 로 요청했을 때만 채운다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    public static final int MAX_SIZE = 500;
+
+    private List<T> content;
+    private String nextCursor;
+    private Long totalCount;
+
+    // 요청 크기를 1 ~ MAX_SIZE 로 제한
+    public static int limit(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * size + 1 건을 조회한 결과로 페이지를 만든다. 초과분이 있으면 잘라내고 마지막 항목의 키를 nextCursor 로 둔다.
+     */
+    public static <T> CursorPageDTO<T> of(List<T> window, int size, Function<T, ?> sortKey, Long totalCount) {
+        if (window.size() <= size) {
+            return new CursorPageDTO<>(window, null, totalCount);
+        }
+        List<T> content = window.subList(0, size);
+        return new CursorPageDTO<>(content, String.valueOf(sortKey.apply(content.get(size - 1))), totalCount);
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.studentmanagement.dto;
 
-import com.example.studentmanagement.beans.Enrollment;
 import lombok.Data;
 
 import java.util.Date;
@@ -12,24 +11,11 @@ public class EnrollmentDTO {
     private String enrollmentStatus;
     private CourseDTO course;
 
-    public EnrollmentDTO(Enrollment enrollment) {
+    // course 는 CourseQueryService 로 여러 건을 한 번에 조립한 DTO (수강 인원은 채우지 않음)
+    public EnrollmentDTO(EnrollmentRowDTO enrollment, CourseDTO course) {
         this.enrollmentId = enrollment.getEnrollmentId();
         this.enrollmentDate = enrollment.getEnrollmentDate();
         this.enrollmentStatus = enrollment.getEnrollmentStatus();
-        
-        // Manually create CourseDTO from the Course entity within Enrollment
-        if (enrollment.getCourse() != null) {
-            com.example.studentmanagement.beans.Course courseEntity = enrollment.getCourse();
-            int currentStudents = 0; // This might need a separate query if required on this screen
-            String professorName = courseEntity.getProfessor() != null ? courseEntity.getProfessor().getName() : "N/A";
-
-            this.course = new CourseDTO(
-                courseEntity,
-                currentStudents,
-                professorName,
-                courseEntity.getCourseSchedules(),
-                courseEntity.getSubject() != null ? courseEntity.getSubject().getCredit() : 0
-            );
-        }
+        this.course = course;
     }
 }
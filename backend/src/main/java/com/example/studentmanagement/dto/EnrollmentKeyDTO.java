@@ -0,0 +1,6 @@
+package com.example.studentmanagement.dto;
+
+public interface EnrollmentKeyDTO {
+    String getCourseCode();
+    String getStudentNo();
+}
@@ -0,0 +1,11 @@
+package com.example.studentmanagement.dto;
+
+import java.util.Date;
+
+// 학생 수강 내역 조회용: 강의 엔티티를 읽지 않고 수강 행 컬럼과 강의코드만 조회
+public interface EnrollmentRowDTO {
+    Integer getEnrollmentId();
+    Date getEnrollmentDate();
+    String getEnrollmentStatus();
+    String getCourseCode();
+}
@@ -1,7 +1,13 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.AcademicSchedule;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface AcademicScheduleRepository extends JpaRepository<AcademicSchedule, Integer> {
+
+    // 커서 페이지 조회: scheduleId 가 after 보다 큰 행만 pageable 크기만큼
+    List<AcademicSchedule> findByScheduleIdGreaterThanOrderByScheduleIdAsc(Integer after, Pageable pageable);
 }
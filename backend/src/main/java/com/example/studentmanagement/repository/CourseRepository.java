@@ -1,8 +1,14 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.Course;
+import com.example.studentmanagement.dto.CourseCapacityDTO;
+import com.example.studentmanagement.dto.CourseRowDTO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
 public interface CourseRepository extends JpaRepository<Course, String> {
@@ -13,13 +19,34 @@ public interface CourseRepository extends JpaRepository<Course, String> {
 
     List<Course> findByProfessor_MemberNo(String memberNo);
 
-    List<Course> findBySubject_Department_DeptNameAndSubject_sNameContaining(String deptName, String sName);
+    // CourseDTO 조립용 projection (시간표는 CourseScheduleRepository 에서 따로 묶어 조회)
+    String COURSE_ROW_SELECT = "SELECT c.courseCode AS courseCode, c.academicYear AS academicYear, c.semester AS semester, " +
+            "c.courseClass AS courseClass, c.maxStu AS maxStu, c.classroom AS classroom, c.courseStatus AS courseStatus, " +
+            "c.courseObjectives AS courseObjectives, c.courseContent AS courseContent, c.evaluationMethod AS evaluationMethod, " +
+            "c.textbookInfo AS textbookInfo, s.sName AS subjectName, s.credit AS credit, d.deptName AS departmentName, " +
+            "p.memberNo AS professorNo, p.name AS professorName " +
+            "FROM Course c LEFT JOIN c.subject s LEFT JOIN s.department d LEFT JOIN c.professor p ";
 
-    List<Course> findBySubject_Department_DeptNameAndCourseCodeContaining(String deptName, String courseCode);
-    
-    List<Course> findBySubject_Department_DeptName(String deptName);
+    @Query(COURSE_ROW_SELECT + "ORDER BY c.courseCode")
+    List<CourseRowDTO> findAllRows();
+
+    @Query(COURSE_ROW_SELECT + "WHERE c.courseCode IN :courseCodes ORDER BY c.courseCode")
+    List<CourseRowDTO> findRowsByCourseCodes(@Param("courseCodes") Collection<String> courseCodes);
+
+    @Query(COURSE_ROW_SELECT + "WHERE c.courseCode IN (SELECT e.course.courseCode FROM Enrollment e WHERE e.student.memberNo = :studentNo) " +
+           "ORDER BY c.courseCode")
+    List<CourseRowDTO> findRowsByStudentNo(@Param("studentNo") String studentNo);
+
+    // [from, to] 범위에서 가장 큰 강의 코드 (과목별 분반 번호 시퀀스 하한 계산용)
+    @Query("SELECT MAX(c.courseCode) FROM Course c WHERE c.courseCode BETWEEN :from AND :to")
+    String findMaxCodeBetween(@Param("from") String from, @Param("to") String to);
 
-    List<Course> findBySubject_sNameContaining(String sName);
+    // 강의 코드만 keyset 방식으로 페이지 조회 (엔티티/연관관계 로딩 없음)
+    @Query("SELECT c.courseCode FROM Course c WHERE c.courseCode > :after ORDER BY c.courseCode")
+    List<String> findCourseCodesAfter(@Param("after") String after, Pageable pageable);
 
-    List<Course> findByCourseCodeContaining(String courseCode);
+    // Redis 정원 캐시 적재용: 정원 관련 컬럼만 keyset 페이지로 조회 (수강 인원은 수강생 Set 에서 계산)
+    @Query("SELECT c.courseCode AS courseCode, c.maxStu AS maxStu, c.waitlistCapacity AS waitlistCapacity " +
+           "FROM Course c WHERE c.courseCode > :after ORDER BY c.courseCode")
+    List<CourseCapacityDTO> findCapacitySnapshotAfter(@Param("after") String after, Pageable pageable);
 }
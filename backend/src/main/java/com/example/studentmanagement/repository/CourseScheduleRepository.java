@@ -1,7 +1,23 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.CourseSchedule;
+import com.example.studentmanagement.dto.CourseScheduleRowDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface CourseScheduleRepository extends JpaRepository<CourseSchedule, Integer> {
+
+    // CourseDTO 조립용: 강의 목록의 시간표를 한 번에 조회 (강의 엔티티 로딩 없음)
+    @Query("SELECT cs.course.courseCode AS courseCode, cs.dayOfWeek AS dayOfWeek, cs.startTime AS startTime, cs.endTime AS endTime " +
+           "FROM CourseSchedule cs WHERE cs.course.courseCode IN :courseCodes " +
+           "ORDER BY cs.course.courseCode, cs.dayOfWeek, cs.startTime")
+    List<CourseScheduleRowDTO> findRowsByCourseCodes(@Param("courseCodes") Collection<String> courseCodes);
+
+    @Query("SELECT cs.course.courseCode AS courseCode, cs.dayOfWeek AS dayOfWeek, cs.startTime AS startTime, cs.endTime AS endTime " +
+           "FROM CourseSchedule cs ORDER BY cs.course.courseCode, cs.dayOfWeek, cs.startTime")
+    List<CourseScheduleRowDTO> findAllRows();
 }
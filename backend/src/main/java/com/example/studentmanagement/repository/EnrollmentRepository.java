@@ -1,7 +1,9 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.Enrollment;
-import com.example.studentmanagement.beans.Course;
+import com.example.studentmanagement.dto.CourseEnrollmentCountDTO;
+import com.example.studentmanagement.dto.EnrollmentKeyDTO;
+import com.example.studentmanagement.dto.EnrollmentRowDTO;
 import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -20,17 +22,29 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Integer>
     @Query("SELECT e FROM Enrollment e JOIN FETCH e.course c JOIN FETCH c.subject JOIN FETCH c.professor WHERE e.student.memberNo = :studentNo")
     List<Enrollment> findByStudent_MemberNo(@Param("studentNo") String studentNo);
 
-    @Query("SELECT e.course FROM Enrollment e " +
-           "JOIN FETCH e.course.subject " +
-           "JOIN FETCH e.course.professor " +
-           "LEFT JOIN FETCH e.course.courseSchedules " +
-           "WHERE e.student.memberNo = :studentNo")
-    List<Course> findCoursesByStudentNoWithDetails(@Param("studentNo") String studentNo);
+    // 학생 수강 내역: 강의 정보는 CourseQueryService 가 따로 조립하므로 수강 행 컬럼과 강의코드만 조회 (조인 없음)
+    @Query("SELECT e.enrollmentId AS enrollmentId, e.enrollmentDate AS enrollmentDate, e.enrollmentStatus AS enrollmentStatus, " +
+           "e.course.courseCode AS courseCode FROM Enrollment e WHERE e.student.memberNo = :studentNo")
+    List<EnrollmentRowDTO> findRowsByStudentNo(@Param("studentNo") String studentNo);
 
     List<Enrollment> findAllByCourse_CourseCodeIn(List<String> courseCodes);
+
+    // 학생이 신청한 강의 코드만 조회 (시간표 충돌 검사용)
+    @Query("SELECT e.course.courseCode FROM Enrollment e WHERE e.student.memberNo = :studentNo")
+    List<String> findCourseCodesByStudentNo(@Param("studentNo") String studentNo);
     
     long countByCourse_CourseCode(String courseCode);
 
+    // 여러 강의의 수강 인원을 GROUP BY 한 번으로 집계
+    @Query("SELECT e.course.courseCode AS courseCode, COUNT(e) AS enrolled FROM Enrollment e " +
+           "WHERE e.course.courseCode IN :courseCodes GROUP BY e.course.courseCode")
+    List<CourseEnrollmentCountDTO> countByCourseCodes(@Param("courseCodes") List<String> courseCodes);
+
+    // Redis 정합성 보정용: 엔티티 없이 (강의코드, 학번) 쌍만 조회
+    @Query("SELECT e.course.courseCode AS courseCode, e.student.memberNo AS studentNo FROM Enrollment e " +
+           "WHERE e.course.courseCode IN :courseCodes")
+    List<EnrollmentKeyDTO> findEnrollmentKeysByCourseCodes(@Param("courseCodes") List<String> courseCodes);
+
     @Transactional
     void deleteByCourse_CourseCode(String courseCode);
 }
@@ -1,11 +1,17 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.LeaveApplication;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface LeaveApplicationRepository extends JpaRepository<LeaveApplication, Integer> {
 
@@ -37,4 +43,13 @@ public interface LeaveApplicationRepository extends JpaRepository<LeaveApplicati
     // 특정 기간의 신청 조회
     @Query("SELECT la FROM LeaveApplication la WHERE la.startYear = :year AND la.startSemester = :semester")
     List<LeaveApplication> findByStartPeriod(@Param("year") Integer year, @Param("semester") Integer semester);
+
+    // 커서 페이지 조회: applicationId 가 after 보다 큰 행만 pageable 크기만큼 (학생/승인자는 함께 조회)
+    @EntityGraph(attributePaths = {"student", "approver"})
+    List<LeaveApplication> findByApplicationIdGreaterThanOrderByApplicationIdAsc(Integer after, Pageable pageable);
+
+    // 내보내기용 스트림 조회 (서버 커서로 fetch size 만큼씩 읽음, 트랜잭션 안에서 사용 후 close)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT la FROM LeaveApplication la LEFT JOIN FETCH la.student LEFT JOIN FETCH la.approver ORDER BY la.applicationId")
+    Stream<LeaveApplication> streamAllForExport();
 }
\ No newline at end of file
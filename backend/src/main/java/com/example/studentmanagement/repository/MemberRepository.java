@@ -1,21 +1,61 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.Member;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.example.studentmanagement.beans.StudentMember;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface MemberRepository extends JpaRepository<Member, String> {
     Optional<Member> findByMemberId(String memberId);
     Optional<Member> findByMemberNo(String memberNo);
+    List<Member> findByMemberNoIn(Collection<String> memberNos);
     List<Member> findByDepartment_DeptCode(String deptCode);
     List<Member> findByDepartment_DeptCodeAndMemberType(String deptCode, String memberType);
     Optional<Member> findByEmail(String email); // 이메일로 멤버를 찾는 메서드 추가
 
     @Query("SELECT sm FROM StudentMember sm WHERE sm.department.deptCode = :deptCode AND sm.stuGrade = :stuGrade")
     List<StudentMember> findStudentsByDepartmentAndGrade(@Param("deptCode") String deptCode, @Param("stuGrade") int stuGrade);
+
+    // 사용자 관리 커서 페이지 조회 (m_id 순). null 인 조건은 적용하지 않는다.
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.department d WHERE m.memberId > :after " + MEMBER_FILTER + " ORDER BY m.memberId")
+    List<Member> findMembersAfter(@Param("after") String after,
+                                  @Param("memberType") String memberType,
+                                  @Param("deptCode") String deptCode,
+                                  @Param("stuGrade") Integer stuGrade,
+                                  @Param("searchName") String searchName,
+                                  Pageable pageable);
+
+    @Query("SELECT COUNT(m) FROM Member m LEFT JOIN m.department d WHERE 1 = 1 " + MEMBER_FILTER)
+    long countMembers(@Param("memberType") String memberType,
+                      @Param("deptCode") String deptCode,
+                      @Param("stuGrade") Integer stuGrade,
+                      @Param("searchName") String searchName);
+
+    // 내보내기용 스트림 조회 (서버 커서로 fetch size 만큼씩 읽음, 트랜잭션 안에서 사용 후 close)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT m FROM Member m LEFT JOIN FETCH m.department d WHERE 1 = 1 " + MEMBER_FILTER + " ORDER BY m.memberId")
+    Stream<Member> streamMembersForExport(@Param("memberType") String memberType,
+                                          @Param("deptCode") String deptCode,
+                                          @Param("stuGrade") Integer stuGrade,
+                                          @Param("searchName") String searchName);
+
+    // memberType: STUDENT/PROFESSOR 는 하위 엔티티 타입, ADMIN 은 둘 다 아닌 Member
+    String MEMBER_FILTER =
+            "AND (:memberType IS NULL " +
+            "  OR (:memberType = 'STUDENT' AND TYPE(m) = StudentMember) " +
+            "  OR (:memberType = 'PROFESSOR' AND TYPE(m) = ProfessorMember) " +
+            "  OR (:memberType = 'ADMIN' AND TYPE(m) = Member)) " +
+            "AND (:deptCode IS NULL OR d.deptCode = :deptCode) " +
+            "AND (:stuGrade IS NULL OR m.memberId IN (SELECT s.memberId FROM StudentMember s WHERE s.stuGrade = :stuGrade)) " +
+            "AND (:searchName IS NULL OR m.name LIKE CONCAT('%', :searchName, '%'))";
 }
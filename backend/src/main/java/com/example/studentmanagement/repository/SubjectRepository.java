@@ -2,6 +2,23 @@ package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.Subject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface SubjectRepository extends JpaRepository<Subject, String> {
+
+    // [from, to] 범위(같은 길이의 접두어+숫자 코드)에서 가장 큰 과목 코드 (PK 범위 스캔)
+    @Query("SELECT MAX(s.sCode) FROM Subject s WHERE s.sCode BETWEEN :from AND :to")
+    String findMaxCodeBetween(@Param("from") String from, @Param("to") String to);
+
+    // 새 과목은 INSERT 로만 저장한다. save() 는 같은 코드의 기존 과목을 조용히 덮어쓰므로 (merge)
+    // 코드가 겹치면 중복 키 오류로 실패하게 한다
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO subject (s_code, s_name, credit, s_type, dept_code) "
+            + "VALUES (:code, :name, :credit, :type, :deptCode)", nativeQuery = true)
+    int insert(@Param("code") String code, @Param("name") String name, @Param("credit") Integer credit,
+               @Param("type") Integer type, @Param("deptCode") String deptCode);
 }
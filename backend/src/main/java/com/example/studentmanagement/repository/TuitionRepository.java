@@ -1,11 +1,17 @@
 package com.example.studentmanagement.repository;
 
 import com.example.studentmanagement.beans.Tuition;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface TuitionRepository extends JpaRepository<Tuition, Integer> {
 
@@ -44,4 +50,13 @@ public interface TuitionRepository extends JpaRepository<Tuition, Integer> {
     );
 
     List<Tuition> findByStudent_MemberNoIn(List<String> studentNos);
+
+    // 커서 페이지 조회: tuitionId 가 after 보다 큰 행만 pageable 크기만큼 (학생은 함께 조회)
+    @EntityGraph(attributePaths = {"student"})
+    List<Tuition> findByTuitionIdGreaterThanOrderByTuitionIdAsc(Integer after, Pageable pageable);
+
+    // 내보내기용 스트림 조회 (서버 커서로 fetch size 만큼씩 읽음, 트랜잭션 안에서 사용 후 close)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Tuition t LEFT JOIN FETCH t.student ORDER BY t.tuitionId")
+    Stream<Tuition> streamAllForExport();
 }
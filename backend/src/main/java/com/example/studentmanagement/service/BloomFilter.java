@@ -0,0 +1,72 @@
+package com.example.studentmanagement.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열 Bloom filter. "없음" 은 확실하고 "있음" 은 오탐(false positive)일 수 있다.
+ * 비트 배열은 AtomicLongArray 라서 add 와 mightContain 을 여러 스레드가 락 없이 동시에 호출해도 된다.
+ * 항목 삭제는 지원하지 않으므로 오래된 항목을 빼려면 새로 만들어 교체한다.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    /**
+     * expected 개를 넣었을 때 오탐률이 falsePositiveRate 가 되도록 비트 수와 해시 개수를 정한다.
+     */
+    BloomFilter(int expected, double falsePositiveRate) {
+        long n = Math.max(1, expected);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64, (m + 63) / 64 * 64);
+        this.words = new AtomicLongArray((int) (m / 64));
+        this.bits = m;
+        this.hashes = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+    }
+
+    void add(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(index)) & mask) == 0
+                    && !words.compareAndSet(index, current, current | mask)) {
+                // 다른 스레드가 같은 word 를 바꿨으면 다시 읽어서 시도
+            }
+        }
+    }
+
+    boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a 64 + 비트 섞기 (murmur3 finalizer). 한 번 계산한 64비트를 둘로 나눠 double hashing 에 쓴다
+    private static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.SubjectRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 과목/강의 코드 발급기.
+ * 과목 코드는 [학과코드] + 5자리 번호, 강의 코드는 [과목코드] + "_" + 2자리 분반 번호이다.
+ * 번호는 DB 의 code_sequence 행에서 발급하고, 과목 번호는 노드마다 block-size 개씩 미리 받아 두어
+ * 대부분의 발급이 DB 왕복 없이 끝난다. 시퀀스 행은 노드가 받아 간 블록의 끝까지 기록하고 줄어들지 않으므로
+ * 아직 저장되지 않은 다른 노드의 블록과도 겹치지 않는다 (유실될 수 있는 캐시에 두면 DB 최댓값만으로는 이를 알 수 없음).
+ * 기존 임의 코드([학과코드] + 영문 1자 + 4자리)는 학과코드 바로 뒤가 영문이므로 새 형식과 겹치지 않는다.
+ * 시퀀스 행이 없거나 DB 에 그보다 큰 코드가 이미 있으면 (도입 전 데이터) 그 번호 위로 올린다.
+ * 그래도 코드가 겹치면 과목 저장이 중복 키 오류로 실패한다 (과목은 INSERT 로만 저장, 기존 과목을 덮어쓰지 않음).
+ */
+@Service
+public class CodeAllocator {
+
+    // 행이 없으면 하한으로 만들고, 있으면 하한 이상으로 올린다. 이 UPSERT 가 행을 잠가 같은 키의 발급을 직렬화한다
+    private static final String SEQ_UPSERT = "INSERT INTO code_sequence (seq_key, last_value) VALUES (?, ?) "
+            + "ON DUPLICATE KEY UPDATE last_value = GREATEST(last_value, VALUES(last_value))";
+    private static final String SEQ_ADVANCE = "UPDATE code_sequence SET last_value = last_value + ? WHERE seq_key = ?";
+    private static final String SEQ_SELECT = "SELECT last_value FROM code_sequence WHERE seq_key = ?";
+
+    private static final int SUBJECT_DIGITS = 5;
+    private static final long MAX_SUBJECT_SEQ = 99_999L;
+    private static final long MAX_SECTION_SEQ = 99L;
+
+    // 학과코드 -> 이 노드가 미리 받아 둔 과목 번호 구간
+    private static final class Block {
+        private long next = 1;
+        private long last = 0;
+    }
+
+    private final SubjectRepository subjectRepository;
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    @Value("${code-allocator.block-size:20}")
+    private int blockSize;
+
+    public CodeAllocator(SubjectRepository subjectRepository, CourseRepository courseRepository,
+                         JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.subjectRepository = subjectRepository;
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // 발급은 호출한 쪽 트랜잭션과 무관하게 바로 커밋한다 (롤백돼도 번호를 되돌리지 않음, 빈 번호는 허용)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 새 과목 코드를 발급한다 (예: CSE00042).
+     */
+    public String nextSubjectCode(String deptCode) {
+        Block block = blocks.computeIfAbsent(deptCode, k -> new Block());
+        synchronized (block) {
+            if (block.next > block.last) {
+                refill(deptCode, block);
+            }
+            return deptCode + String.format("%0" + SUBJECT_DIGITS + "d", block.next++);
+        }
+    }
+
+    /**
+     * 과목의 다음 분반 강의 코드를 발급한다 (예: CSE00042_01).
+     * 분반은 과목당 수가 적으므로 미리 받아 두지 않고 매번 시퀀스 행에서 하나씩 발급한다.
+     */
+    public String nextCourseCode(String subjectCode) {
+        long section = increment("section:" + subjectCode, lastSection(subjectCode), 1);
+        if (section > MAX_SECTION_SEQ) {
+            throw new IllegalStateException("분반 번호가 모두 소진되었습니다: " + subjectCode);
+        }
+        return String.format("%s_%02d", subjectCode, section);
+    }
+
+    private void refill(String deptCode, Block block) {
+        long high = increment("subject:" + deptCode, lastSubjectSeq(deptCode), blockSize);
+        if (high > MAX_SUBJECT_SEQ) {
+            throw new IllegalStateException("과목 코드 번호가 모두 소진되었습니다: " + deptCode);
+        }
+        block.next = high - blockSize + 1;
+        block.last = high;
+    }
+
+    // max(시퀀스, 하한) + delta 로 올리고 그 값을 반환한다 (한 트랜잭션 안에서 행 잠금으로 원자 처리)
+    private long increment(String key, long floor, long delta) {
+        Long high = transactionTemplate.execute(status -> {
+            jdbcTemplate.update(SEQ_UPSERT, key, floor);
+            jdbcTemplate.update(SEQ_ADVANCE, delta, key);
+            return jdbcTemplate.queryForObject(SEQ_SELECT, Long.class, key);
+        });
+        if (high == null) {
+            throw new IllegalStateException("코드 시퀀스를 발급하지 못했습니다: " + key);
+        }
+        return high;
+    }
+
+    private long lastSubjectSeq(String deptCode) {
+        String zeros = "0".repeat(SUBJECT_DIGITS);
+        String nines = "9".repeat(SUBJECT_DIGITS);
+        String max = subjectRepository.findMaxCodeBetween(deptCode + zeros, deptCode + nines);
+        return parseSuffix(max, deptCode.length(), SUBJECT_DIGITS);
+    }
+
+    private long lastSection(String subjectCode) {
+        String max = courseRepository.findMaxCodeBetween(subjectCode + "_00", subjectCode + "_99");
+        return parseSuffix(max, subjectCode.length() + 1, 2);
+    }
+
+    // 길이가 다르거나 숫자가 아닌 코드(다른 형식)는 무시한다
+    private static long parseSuffix(String code, int offset, int digits) {
+        if (code == null || code.length() != offset + digits) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(code.substring(offset));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+}
@@ -1,33 +1,197 @@
 package com.example.studentmanagement.service;
 
-import com.example.studentmanagement.beans.Course;
+import com.example.studentmanagement.dto.CourseCapacityDTO;
+import com.example.studentmanagement.dto.EnrollmentKeyDTO;
 import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
+/**
+ * 강의 정원 정보를 Redis 에 적재한다.
+ * 정원 관련 컬럼만 projection 으로 페이지 단위 조회해서 파이프라인으로 한 번에 기록하고,
+ * 수강 인원 카운터가 없는 강의는 DB 수강생으로 enrollment:{code} Set 을 채운 뒤 카운터를 Set 크기로 맞춘다
+ * (enroll.lua 의 중복 확인과 정합성 보정이 Set 을 기준으로 하므로 카운터만 채우면 안 됨).
+ * 적재가 끝나면 course:cache:version 에 스냅샷 버전을 남긴다.
+ */
 @Service
-public class CourseCacheService implements CommandLineRunner {
+public class CourseCacheService {
+
+    public static final String VERSION_KEY = "course:cache:version";
+
+    private static final RedisScript<Long> SEED_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/cache_seed.lua"), Long.class);
 
     private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
     private final RedisTemplate<String, Object> redisTemplate;
+    private final Executor taskExecutor;
+
+    @Value("${course-cache.warm-up.page-size:1000}")
+    private int pageSize;
 
-    public CourseCacheService(CourseRepository courseRepository, @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+    @Value("${course-cache.warm-up.async:true}")
+    private boolean async;
+
+    public CourseCacheService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+                              @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                              @Qualifier("threadPoolTaskExecutor") Executor taskExecutor) {
         this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
         this.redisTemplate = redisTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    // 애플리케이션 기동 후 적재 (async 이면 백그라운드에서 실행해서 기동을 막지 않음)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (async) {
+            taskExecutor.execute(this::refreshSafely);
+        } else {
+            refresh();
+        }
+    }
+
+    /**
+     * 전체 강의 정원 스냅샷을 다시 적재하고 새 버전 번호를 반환한다.
+     * 정원/대기열 정원은 DB 값으로 덮어쓰고, 수강생 Set 과 카운터는 Redis 에 카운터가 없을 때만 DB 값으로 채운다
+     * (이미 운영 중인 카운터와 Set 에는 아직 DB 에 반영되지 않은 write-behind 신청이 포함되어 있을 수 있음).
+     */
+    public long refresh() {
+        String after = "";
+        while (true) {
+            List<CourseCapacityDTO> page = courseRepository.findCapacitySnapshotAfter(after, PageRequest.of(0, pageSize));
+            if (page.isEmpty()) {
+                break;
+            }
+            writePage(page);
+            seedEnrollments(page);
+            after = page.get(page.size() - 1).getCourseCode();
+        }
+        Long version = redisTemplate.opsForValue().increment(VERSION_KEY);
+        return version != null ? version : 0L;
     }
 
-    @Override
-    public void run(String... args) throws Exception {
-        // 애플리케이션 시작 시, 모든 강의 정보를 DB에서 조회
-        List<Course> courses = courseRepository.findAll();
-        for (Course course : courses) {
-            // 각 강의의 최대 수강 인원 정보를 Redis에 저장 (캐싱)
-            String maxStuKey = "course:max_stu:" + course.getCourseCode();
-            redisTemplate.opsForValue().set(maxStuKey, String.valueOf(course.getMaxStu()));
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            System.err.println("Course cache warm-up failed: " + e.getMessage());
+        }
+    }
+
+    private void writePage(List<CourseCapacityDTO> page) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (CourseCapacityDTO course : page) {
+                String courseCode = course.getCourseCode();
+                if (course.getMaxStu() != null) {
+                    connection.stringCommands().set(bytes(EnrollmentKeys.maxStu(courseCode)), bytes(String.valueOf(course.getMaxStu())));
+                }
+                Integer waitlistCapacity = course.getWaitlistCapacity();
+                if (waitlistCapacity == null || waitlistCapacity <= 0) {
+                    connection.keyCommands().del(bytes(EnrollmentKeys.waitlistMax(courseCode)));
+                } else {
+                    connection.stringCommands().set(bytes(EnrollmentKeys.waitlistMax(courseCode)), bytes(String.valueOf(waitlistCapacity)));
+                }
+            }
+            return null;
+        });
+    }
+
+    // 카운터가 없는 강의만 골라 DB 수강생을 조회하고 Set 과 카운터를 함께 채운다
+    private void seedEnrollments(List<CourseCapacityDTO> page) {
+        List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (CourseCapacityDTO course : page) {
+                connection.keyCommands().exists(bytes(EnrollmentKeys.count(course.getCourseCode())));
+            }
+            return null;
+        });
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < page.size(); i++) {
+            if (!Boolean.TRUE.equals(exists.get(i))) {
+                missing.add(page.get(i).getCourseCode());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<String>> students = new HashMap<>();
+        for (EnrollmentKeyDTO key : enrollmentRepository.findEnrollmentKeysByCourseCodes(missing)) {
+            students.computeIfAbsent(key.getCourseCode(), code -> new ArrayList<>()).add(key.getStudentNo());
         }
+        for (String courseCode : missing) {
+            seed(courseCode, students.getOrDefault(courseCode, List.of()));
+        }
+    }
+
+    /**
+     * 한 강의의 수강생 Set 과 카운터를 DB 기준으로 채운다 (카운터가 이미 있으면 아무것도 하지 않음).
+     * 캐시가 유실된 강의에 수강신청이 들어왔을 때 사용한다.
+     */
+    public void seedEnrollments(String courseCode) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(EnrollmentKeys.count(courseCode)))) {
+            return;
+        }
+        List<String> studentNos = new ArrayList<>();
+        for (EnrollmentKeyDTO key : enrollmentRepository.findEnrollmentKeysByCourseCodes(List.of(courseCode))) {
+            studentNos.add(key.getStudentNo());
+        }
+        seed(courseCode, studentNos);
+    }
+
+    private void seed(String courseCode, List<String> studentNos) {
+        Object[] args = new Object[studentNos.size() + 1];
+        args[0] = courseCode;
+        for (int i = 0; i < studentNos.size(); i++) {
+            args[i + 1] = studentNos.get(i);
+        }
+        redisTemplate.execute(SEED_SCRIPT,
+                List.of(EnrollmentKeys.count(courseCode), EnrollmentKeys.enrollment(courseCode), EnrollmentKeys.pendingCancels()),
+                args);
+    }
+
+    // 정원이 변경되면 캐시를 지워서, 다음 수강신청 시 DB 의 새 값으로 다시 채워지게 한다
+    public void evictCapacity(String courseCode) {
+        redisTemplate.delete(EnrollmentKeys.maxStu(courseCode));
+    }
+
+    // 강의 삭제 시 관련 Redis 상태 전체 제거
+    public void evictCourse(String courseCode) {
+        redisTemplate.delete(List.of(
+                EnrollmentKeys.maxStu(courseCode),
+                EnrollmentKeys.count(courseCode),
+                EnrollmentKeys.enrollment(courseCode),
+                EnrollmentKeys.waitlist(courseCode),
+                EnrollmentKeys.waitlistMax(courseCode)));
+    }
+
+    // 대기열 정원 캐시 (null 이면 키를 지워서 대기열 미사용으로 처리)
+    public void cacheWaitlistCapacity(String courseCode, Integer waitlistCapacity) {
+        String waitlistMaxKey = EnrollmentKeys.waitlistMax(courseCode);
+        if (waitlistCapacity == null || waitlistCapacity <= 0) {
+            redisTemplate.delete(waitlistMaxKey);
+        } else {
+            redisTemplate.opsForValue().set(waitlistMaxKey, String.valueOf(waitlistCapacity));
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
     }
 }
@@ -0,0 +1,346 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.CourseDTO;
+import com.example.studentmanagement.dto.CourseRowDTO;
+import com.example.studentmanagement.dto.CourseScheduleRowDTO;
+import com.example.studentmanagement.dto.CursorPageDTO;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.CourseScheduleRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * 강의 목록/검색용 읽기 전용 카탈로그 스냅샷 (노드별 메모리).
+ * 강의가 생성/수정/삭제되면 변경한 노드는 먼저 자기 스냅샷에 바로 반영하고 (같은 노드로 오는 다음 조회가 변경을 보도록),
+ * Redis pub/sub 으로 변경된 강의 코드를 알려 다른 노드도 해당 강의만 다시 읽어 새 스냅샷으로 교체한다. 조회는 메모리에서만 처리하고 수강 인원은 응답 시점에 Redis 카운터로 덮어쓴다.
+ * 놓친 알림이 있어도 full-rebuild-interval-ms 마다 전체를 다시 읽어 맞춘다.
+ * 검색은 LIKE 쿼리 대신 함께 유지되는 CourseSearchIndex(n-gram 역색인)로 처리하고,
+ * 시간표 충돌 검사용 TimetableService 색인도 같은 시점에 갱신한다.
+ */
+@Service
+public class CourseCatalogService implements MessageListener {
+
+    public static final String CHANNEL = "course:catalog";
+
+    private static final String UPSERT = "UPSERT";
+    private static final String DELETE = "DELETE";
+    private static final String REBUILD = "REBUILD";
+
+    // 알림에 발행 노드를 붙여서, 이미 로컬에 반영한 자기 알림은 다시 처리하지 않는다
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CourseRepository courseRepository;
+    private final CourseScheduleRepository courseScheduleRepository;
+    private final SeatCountService seatCountService;
+    private final TimetableService timetableService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Executor taskExecutor;
+
+    // 강의코드 순으로 정렬된 불변 맵. 변경 시 통째로 교체한다.
+    private volatile NavigableMap<String, Entry> entries;
+    // 과목명/강의코드/교수명/학과명 검색 색인. 강의 단위로 갱신하고, 전체 재적재 시에는 새로 만들어 교체한다.
+    private volatile CourseSearchIndex searchIndex = new CourseSearchIndex();
+
+    public CourseCatalogService(CourseRepository courseRepository, CourseScheduleRepository courseScheduleRepository,
+                                SeatCountService seatCountService,
+                                TimetableService timetableService,
+                                @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                RedisMessageListenerContainer listenerContainer,
+                                @Qualifier("threadPoolTaskExecutor") Executor taskExecutor) {
+        this.courseRepository = courseRepository;
+        this.courseScheduleRepository = courseScheduleRepository;
+        this.seatCountService = seatCountService;
+        this.timetableService = timetableService;
+        this.redisTemplate = redisTemplate;
+        this.taskExecutor = taskExecutor;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    private record Entry(CourseDTO course, String professorNo) {
+    }
+
+    /** 검색 결과 한 페이지와 전체 건수 */
+    public record SearchPage(List<CourseDTO> content, int total) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        taskExecutor.execute(this::rebuildSafely);
+    }
+
+    @Scheduled(fixedDelayString = "${course-catalog.full-rebuild-interval-ms:300000}",
+            initialDelayString = "${course-catalog.full-rebuild-interval-ms:300000}")
+    public void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("Course catalog rebuild failed: " + e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        NavigableMap<String, Entry> next = new TreeMap<>();
+        CourseSearchIndex nextIndex = new CourseSearchIndex();
+        List<TimetableService.CourseTimes> times = new ArrayList<>();
+        // 엔티티 대신 projection 두 번 (강의 행 + 전체 시간표) 으로 적재
+        Map<String, List<CourseScheduleRowDTO>> schedules = CourseQueryService.groupByCourse(courseScheduleRepository.findAllRows());
+        for (CourseRowDTO row : courseRepository.findAllRows()) {
+            List<CourseScheduleRowDTO> courseSchedules = schedules.getOrDefault(row.getCourseCode(), List.of());
+            Entry entry = new Entry(CourseQueryService.toDTO(row, courseSchedules), row.getProfessorNo());
+            next.put(row.getCourseCode(), entry);
+            nextIndex.put(row.getCourseCode(), indexFields(entry.course()));
+            times.add(toTimes(row, courseSchedules));
+        }
+        searchIndex = nextIndex;
+        timetableService.reindex(times);
+        entries = Collections.unmodifiableNavigableMap(next);
+    }
+
+    // ---- 변경 알림 (강의 저장/삭제 후 호출) ----
+
+    public void courseChanged(String courseCode) {
+        publish(UPSERT, courseCode);
+    }
+
+    public void courseDeleted(String courseCode) {
+        publish(DELETE, courseCode);
+    }
+
+    // 일괄 등록처럼 많은 강의가 한꺼번에 바뀐 경우: 강의별 알림 대신 모든 노드가 전체를 다시 적재한다
+    public void coursesImported() {
+        publish(REBUILD, "*");
+    }
+
+    private void publish(String op, String courseCode) {
+        try {
+            // 변경한 노드는 알림을 기다리지 않고 먼저 반영한다 (projection 조회라 요청 스레드의 영속성 컨텍스트가 아닌 DB 에서 읽음)
+            apply(op, courseCode);
+        } catch (Exception e) {
+            // 로컬 반영에 실패해도 다른 노드에는 알리고, 이 노드는 다음 전체 재적재 때 맞춰진다
+            System.err.println("Course catalog local apply failed: " + e.getMessage());
+        }
+        try {
+            redisTemplate.convertAndSend(CHANNEL, op + ":" + courseCode + ":" + nodeId);
+        } catch (Exception e) {
+            // 다른 노드는 다음 전체 재적재 때 반영된다
+            System.err.println("Course catalog publish failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 3);
+        if (parts.length == 3 && nodeId.equals(parts[2])) {
+            return;
+        }
+        if (parts.length >= 2) {
+            if (REBUILD.equals(parts[0])) {
+                // 전체 재적재는 리스너 스레드를 오래 잡지 않도록 별도 스레드에서 실행
+                taskExecutor.execute(() -> apply(parts[0], parts[1]));
+            } else {
+                apply(parts[0], parts[1]);
+            }
+        }
+    }
+
+    private synchronized void apply(String op, String courseCode) {
+        if (entries == null) {
+            // 아직 초기 적재 전이면 적재 시점의 DB 상태에 이미 반영됨
+            return;
+        }
+        if (REBUILD.equals(op)) {
+            rebuild();
+            return;
+        }
+        NavigableMap<String, Entry> next = new TreeMap<>(entries);
+        List<CourseRowDTO> rows = UPSERT.equals(op) ? courseRepository.findRowsByCourseCodes(List.of(courseCode)) : List.of();
+        if (!rows.isEmpty()) {
+            CourseRowDTO row = rows.get(0);
+            List<CourseScheduleRowDTO> courseSchedules = courseScheduleRepository.findRowsByCourseCodes(List.of(courseCode));
+            Entry entry = new Entry(CourseQueryService.toDTO(row, courseSchedules), row.getProfessorNo());
+            next.put(courseCode, entry);
+            searchIndex.put(courseCode, indexFields(entry.course()));
+            timetableService.index(toTimes(row, courseSchedules));
+        } else {
+            next.remove(courseCode);
+            searchIndex.remove(courseCode);
+            timetableService.remove(courseCode);
+        }
+        entries = Collections.unmodifiableNavigableMap(next);
+    }
+
+    // ---- 조회 ----
+
+    public List<CourseDTO> getAll() {
+        return find(entry -> true);
+    }
+
+    // 강의코드 순 커서 페이지 (after 보다 큰 강의코드부터 size 건)
+    public CursorPageDTO<CourseDTO> getPage(String after, int size, boolean includeTotal) {
+        NavigableMap<String, Entry> snapshot = snapshot();
+        Collection<Entry> tail = after != null ? snapshot.tailMap(after, false).values() : snapshot.values();
+        List<Entry> window = new ArrayList<>(size + 1);
+        for (Entry entry : tail) {
+            if (window.size() > size) {
+                break;
+            }
+            window.add(entry);
+        }
+        List<CourseDTO> courses = withSeatCounts(window.size() > size ? window.subList(0, size) : window);
+        String nextCursor = window.size() > size ? courses.get(size - 1).getCourseCode() : null;
+        return new CursorPageDTO<>(courses, nextCursor, includeTotal ? (long) snapshot.size() : null);
+    }
+
+    public Optional<CourseDTO> get(String courseCode) {
+        Entry entry = snapshot().get(courseCode);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new CourseDTO(entry.course(), seatCountService.getSeatCount(courseCode)));
+    }
+
+    public List<CourseDTO> findByProfessor(String professorNo) {
+        return find(entry -> professorNo.equals(entry.professorNo()));
+    }
+
+    /**
+     * 강의 검색. department/academicYear/semester 는 정확히 일치하는 조건으로 함께 적용하고,
+     * keyword 는 type 으로 지정한 필드(courseName, courseCode, professor, department)에서, type 이 없거나
+     * 알 수 없는 값이면 모든 필드에서 부분 일치로 찾는다. keyword 가 있으면 점수 순, 없으면 강의코드 순으로 정렬한다.
+     * size 가 없으면 (또는 0 이하이면) 전체를 반환한다.
+     */
+    public SearchPage search(String department, String type, String keyword, Integer academicYear, Integer semester,
+                             int page, Integer size) {
+        Predicate<Entry> filter = entry -> true;
+        if (department != null && !department.isEmpty()) {
+            filter = filter.and(entry -> department.equals(entry.course().getDepartmentName()));
+        }
+        if (academicYear != null) {
+            filter = filter.and(entry -> entry.course().getAcademicYear() == academicYear);
+        }
+        if (semester != null) {
+            filter = filter.and(entry -> entry.course().getSemester() == semester);
+        }
+
+        Map<String, Entry> snapshot = snapshot();
+        List<Entry> matched = new ArrayList<>();
+        if (keyword != null && !keyword.isBlank()) {
+            Map<String, Integer> scores = searchIndex.search(keyword, searchFields(type));
+            for (Map.Entry<String, Integer> scored : scores.entrySet()) {
+                Entry entry = snapshot.get(scored.getKey());
+                if (entry != null && filter.test(entry)) {
+                    matched.add(entry);
+                }
+            }
+            matched.sort(Comparator.comparingInt((Entry entry) -> scores.get(entry.course().getCourseCode())).reversed()
+                    .thenComparing(entry -> entry.course().getCourseCode()));
+        } else {
+            for (Entry entry : snapshot.values()) {
+                if (filter.test(entry)) {
+                    matched.add(entry);
+                }
+            }
+        }
+
+        int total = matched.size();
+        if (size != null && size > 0) {
+            int from = Math.min(Math.max(page, 0) * size, total);
+            matched = matched.subList(from, Math.min(from + size, total));
+        }
+        return new SearchPage(withSeatCounts(matched), total);
+    }
+
+    private static Set<CourseSearchIndex.Field> searchFields(String type) {
+        if (type == null) {
+            return CourseSearchIndex.allFields();
+        }
+        return switch (type) {
+            case "courseName" -> EnumSet.of(CourseSearchIndex.Field.SUBJECT_NAME);
+            case "courseCode" -> EnumSet.of(CourseSearchIndex.Field.COURSE_CODE);
+            case "professor" -> EnumSet.of(CourseSearchIndex.Field.PROFESSOR_NAME);
+            case "department" -> EnumSet.of(CourseSearchIndex.Field.DEPARTMENT_NAME);
+            default -> CourseSearchIndex.allFields();
+        };
+    }
+
+    private List<CourseDTO> find(Predicate<Entry> filter) {
+        List<Entry> matched = new ArrayList<>();
+        for (Entry entry : snapshot().values()) {
+            if (filter.test(entry)) {
+                matched.add(entry);
+            }
+        }
+        return withSeatCounts(matched);
+    }
+
+    private List<CourseDTO> withSeatCounts(List<Entry> matched) {
+        List<String> courseCodes = new ArrayList<>(matched.size());
+        for (Entry entry : matched) {
+            courseCodes.add(entry.course().getCourseCode());
+        }
+        Map<String, Integer> seatCounts = seatCountService.getSeatCounts(courseCodes);
+
+        List<CourseDTO> result = new ArrayList<>(matched.size());
+        for (Entry entry : matched) {
+            CourseDTO course = entry.course();
+            result.add(new CourseDTO(course, seatCounts.getOrDefault(course.getCourseCode(), 0)));
+        }
+        return result;
+    }
+
+    private NavigableMap<String, Entry> snapshot() {
+        NavigableMap<String, Entry> current = entries;
+        if (current == null) {
+            // 기동 직후 초기 적재가 끝나기 전 요청은 직접 적재
+            synchronized (this) {
+                if (entries == null) {
+                    rebuild();
+                }
+                current = entries;
+            }
+        }
+        return current;
+    }
+
+    private static Map<CourseSearchIndex.Field, String> indexFields(CourseDTO course) {
+        Map<CourseSearchIndex.Field, String> fields = new EnumMap<>(CourseSearchIndex.Field.class);
+        fields.put(CourseSearchIndex.Field.SUBJECT_NAME, course.getSubjectName());
+        fields.put(CourseSearchIndex.Field.COURSE_CODE, course.getCourseCode());
+        fields.put(CourseSearchIndex.Field.PROFESSOR_NAME, course.getProfessorName());
+        fields.put(CourseSearchIndex.Field.DEPARTMENT_NAME, course.getDepartmentName());
+        return fields;
+    }
+
+    private static TimetableService.CourseTimes toTimes(CourseRowDTO row, List<CourseScheduleRowDTO> schedules) {
+        List<TimetableService.TimeBlock> blocks = new ArrayList<>(schedules.size());
+        for (CourseScheduleRowDTO schedule : schedules) {
+            blocks.add(new TimetableService.TimeBlock(schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime()));
+        }
+        return new TimetableService.CourseTimes(row.getCourseCode(), row.getProfessorNo(), row.getClassroom(), blocks);
+    }
+}
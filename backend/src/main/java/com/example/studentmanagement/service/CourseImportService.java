@@ -0,0 +1,425 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.beans.Course;
+import com.example.studentmanagement.beans.CourseSchedule;
+import com.example.studentmanagement.beans.Department;
+import com.example.studentmanagement.beans.Member;
+import com.example.studentmanagement.beans.Subject;
+import com.example.studentmanagement.repository.DepartmentRepository;
+import com.example.studentmanagement.repository.MemberRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.time.DateTimeException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 학기 전 강의 일괄 등록 (JSON lines 또는 CSV).
+ * 1) 파일 전체를 읽어 행별로 검증하고, 교수/학과는 한 번의 IN 쿼리로 미리 읽는다.
+ * 2) 기존 강의(TimetableService)와 파일 안의 앞선 행(임시 TimetableService) 모두에 대해 교수/강의실 시간 충돌을 메모리에서 검사한다.
+ * 3) 통과한 행만 chunk-size 건씩 한 트랜잭션으로 묶어 subject / course / course_schedule 을 JDBC batch INSERT 한다.
+ * 실패한 행은 행 번호와 사유를 모아 돌려주고, 나머지 행은 그대로 등록한다.
+ * 컬럼 이름은 강의 등록 API(POST /api/courses) 요청 본문과 같고, CSV 의 courseSchedules 는 "1 09:00-10:30;3 09:00-10:30" 형식이다.
+ */
+@Service
+public class CourseImportService {
+
+    private static final String INSERT_SUBJECT =
+            "INSERT INTO subject (s_code, s_name, credit, s_type, dept_code) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_COURSE =
+            "INSERT INTO course (course_code, academic_year, semester, s_code, course_class, professor_no, max_stu, classroom, " +
+            "waitlist_capacity, course_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, 'OPEN')";
+    private static final String INSERT_SCHEDULE =
+            "INSERT INTO course_schedule (course_code, day_of_week, start_time, end_time) VALUES (?, ?, ?, ?)";
+
+    /** 행 번호(헤더 제외, 1부터)와 실패 사유 */
+    public record RowError(int line, String message) {
+    }
+
+    public record ImportResult(int total, int imported, List<RowError> errors) {
+    }
+
+    // 검증을 통과한 한 행. course/subject 는 값 전달과 시간 충돌 검사용 임시 객체이며 JPA 로 저장하지 않는다.
+    private record ImportRow(int line, Course course) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MemberRepository memberRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TimetableService timetableService;
+    private final CodeAllocator codeAllocator;
+    private final CourseCacheService courseCacheService;
+    private final CourseCatalogService courseCatalogService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${course-import.chunk-size:500}")
+    private int chunkSize;
+
+    public CourseImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               MemberRepository memberRepository, DepartmentRepository departmentRepository,
+                               TimetableService timetableService, CodeAllocator codeAllocator,
+                               CourseCacheService courseCacheService, CourseCatalogService courseCatalogService,
+                               ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.memberRepository = memberRepository;
+        this.departmentRepository = departmentRepository;
+        this.timetableService = timetableService;
+        this.codeAllocator = codeAllocator;
+        this.courseCacheService = courseCacheService;
+        this.courseCatalogService = courseCatalogService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * format 이 csv 이면 CSV (첫 줄은 헤더), 그 외에는 한 줄에 JSON 객체 하나인 JSON lines 로 읽는다.
+     */
+    public ImportResult importCourses(InputStream in, String format) throws IOException {
+        List<RowError> errors = new ArrayList<>();
+        List<Map<String, Object>> records = read(in, "csv".equalsIgnoreCase(format), errors);
+        int unreadable = errors.size();
+
+        // 참조하는 교수/학과를 한 번에 읽는다
+        Set<String> professorNos = new HashSet<>();
+        Set<String> deptCodes = new HashSet<>();
+        for (Map<String, Object> record : records) {
+            addIfPresent(professorNos, text(record, "professorNo"));
+            addIfPresent(deptCodes, text(record, "deptCode"));
+        }
+        Map<String, Member> professors = new HashMap<>();
+        for (Member member : memberRepository.findByMemberNoIn(professorNos)) {
+            professors.put(member.getMemberNo(), member);
+        }
+        Map<String, Department> departments = new HashMap<>();
+        for (Department department : departmentRepository.findAllById(deptCodes)) {
+            departments.put(department.getDeptCode(), department);
+        }
+
+        // 검증 + 충돌 검사. 파일 안의 앞선 행과의 충돌은 임시 색인으로 확인한다.
+        TimetableService pending = new TimetableService();
+        pending.reindex(List.of()); // 빈 색인에서 시작 (적재 완료로 표시해야 조회 가능)
+        List<ImportRow> rows = new ArrayList<>();
+        for (Map<String, Object> record : records) {
+            int line = (Integer) record.get("_line");
+            try {
+                ImportRow row = toRow(line, record, professors, departments);
+                String conflict = findConflict(row.course(), pending);
+                if (conflict != null) {
+                    errors.add(new RowError(line, conflict));
+                    continue;
+                }
+                pending.index(TimetableService.CourseTimes.of(row.course()));
+                rows.add(row);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                errors.add(new RowError(line, e.getMessage()));
+            }
+        }
+
+        int imported = 0;
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            List<ImportRow> chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+            try {
+                assignCodes(chunk);
+                transactionTemplate.executeWithoutResult(status -> insert(chunk));
+                imported += chunk.size();
+            } catch (DataAccessException | IllegalStateException e) {
+                for (ImportRow row : chunk) {
+                    errors.add(new RowError(row.line(), "저장 실패: " + e.getMessage()));
+                }
+            }
+        }
+
+        if (imported > 0) {
+            // 정원 캐시와 카탈로그(검색/시간표 색인)는 강의별로 갱신하지 않고 한 번에 다시 적재한다
+            courseCacheService.refresh();
+            courseCatalogService.coursesImported();
+        }
+        errors.sort((a, b) -> Integer.compare(a.line(), b.line()));
+        return new ImportResult(records.size() + unreadable, imported, errors);
+    }
+
+    // ---- 읽기 ----
+
+    private List<Map<String, Object>> read(InputStream in, boolean csv, List<RowError> errors) throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = null;
+        int line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            if (line == 0 && header == null && !text.isEmpty() && text.charAt(0) == '\uFEFF') {
+                text = text.substring(1);
+            }
+            if (text.isBlank()) {
+                continue;
+            }
+            if (csv && header == null) {
+                header = splitCsvLine(text);
+                continue;
+            }
+            line++;
+            try {
+                Map<String, Object> record = csv ? toRecord(header, splitCsvLine(text))
+                        : objectMapper.readValue(text, new TypeReference<LinkedHashMap<String, Object>>() {});
+                record.put("_line", line);
+                records.add(record);
+            } catch (IOException | IllegalArgumentException e) {
+                errors.add(new RowError(line, "행을 읽을 수 없습니다: " + e.getMessage()));
+            }
+        }
+        return records;
+    }
+
+    private static Map<String, Object> toRecord(List<String> header, List<String> values) {
+        if (values.size() > header.size()) {
+            throw new IllegalArgumentException("컬럼 수가 헤더보다 많습니다 (" + values.size() + ")");
+        }
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            record.put(header.get(i).trim(), values.get(i));
+        }
+        return record;
+    }
+
+    // 따옴표("..."), 따옴표 이스케이프("") 를 처리하는 한 줄 CSV 분리 (셀 안의 줄바꿈은 지원하지 않음)
+    private static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // ---- 검증 ----
+
+    private ImportRow toRow(int line, Map<String, Object> record, Map<String, Member> professors,
+                            Map<String, Department> departments) {
+        String professorNo = text(record, "professorNo");
+        Member professor = professorNo != null ? professors.get(professorNo) : null;
+        if (professor == null) {
+            throw new IllegalArgumentException("교수를 찾을 수 없습니다: " + professorNo);
+        }
+        String subjectName = text(record, "subjectName");
+        if (subjectName == null) {
+            throw new IllegalArgumentException("과목명이 없습니다.");
+        }
+        Integer academicYear = integer(record, "academicYear");
+        Integer semester = integer(record, "semester");
+        if (academicYear == null || semester == null) {
+            throw new IllegalArgumentException("학년도/학기가 없습니다.");
+        }
+        Integer maxStudents = integer(record, "maxStudents");
+        if (maxStudents == null || maxStudents <= 0) {
+            throw new IllegalArgumentException("수강 정원이 올바르지 않습니다: " + record.get("maxStudents"));
+        }
+
+        // 학과는 지정된 값, 없으면 교수 소속 학과 (강의 등록 API 와 동일)
+        Department department = professor.getDepartment();
+        String deptCode = text(record, "deptCode");
+        if (deptCode != null) {
+            department = departments.get(deptCode);
+            if (department == null) {
+                throw new IllegalArgumentException("학과를 찾을 수 없습니다: " + deptCode);
+            }
+        }
+
+        Course course = new Course();
+        // 코드는 저장 직전에 발급하고, 그 전까지는 행 번호로 임시 색인에 넣는다
+        course.setCourseCode("#" + line);
+        course.setAcademicYear(academicYear);
+        course.setSemester(semester);
+        course.setCourseClass(text(record, "courseClass"));
+        course.setMaxStu(maxStudents);
+        course.setClassroom(text(record, "classroom"));
+        course.setWaitlistCapacity(integer(record, "waitlistCapacity"));
+        course.setProfessor(professor);
+        course.setCourseSchedules(parseSchedules(record.get("courseSchedules"), course));
+
+        Subject subject = new Subject();
+        subject.setSName(subjectName);
+        subject.setCredit(integer(record, "credit"));
+        subject.setSType(integer(record, "subjectType"));
+        subject.setDepartment(department);
+        course.setSubject(subject);
+        return new ImportRow(line, course);
+    }
+
+    // JSON: [{dayOfWeek, startTime, endTime}, ...], CSV: "1 09:00-10:30;3 09:00-10:30"
+    private static List<CourseSchedule> parseSchedules(Object value, Course course) {
+        List<CourseSchedule> schedules = new ArrayList<>();
+        if (value instanceof List<?> list) {
+            for (Object item : list) {
+                if (!(item instanceof Map<?, ?> map)) {
+                    throw new IllegalArgumentException("강의 시간이 올바르지 않습니다: " + item);
+                }
+                schedules.add(schedule(course, toInteger(map.get("dayOfWeek")),
+                        String.valueOf(map.get("startTime")), String.valueOf(map.get("endTime"))));
+            }
+        } else if (value instanceof String text && !text.isBlank()) {
+            for (String part : text.split(";")) {
+                String[] dayAndTime = part.trim().split("\\s+");
+                String[] times = dayAndTime.length == 2 ? dayAndTime[1].split("-") : new String[0];
+                if (times.length != 2) {
+                    throw new IllegalArgumentException("강의 시간이 올바르지 않습니다: " + part);
+                }
+                schedules.add(schedule(course, toInteger(dayAndTime[0]), times[0], times[1]));
+            }
+        }
+        return schedules;
+    }
+
+    private static CourseSchedule schedule(Course course, Integer dayOfWeek, String start, String end) {
+        LocalTime startTime = LocalTime.parse(start.trim());
+        LocalTime endTime = LocalTime.parse(end.trim());
+        if (dayOfWeek == null || dayOfWeek < 1 || dayOfWeek > 7 || !startTime.isBefore(endTime)) {
+            throw new IllegalArgumentException("강의 시간이 올바르지 않습니다: " + dayOfWeek + " " + startTime + "-" + endTime);
+        }
+        CourseSchedule schedule = new CourseSchedule();
+        schedule.setCourse(course);
+        schedule.setDayOfWeek(dayOfWeek);
+        schedule.setStartTime(startTime);
+        schedule.setEndTime(endTime);
+        return schedule;
+    }
+
+    // 기존 강의, 그리고 파일 안의 앞선 행과 교수/강의실 시간이 겹치면 사유를 반환한다
+    private String findConflict(Course course, TimetableService pending) {
+        List<TimetableService.TimeBlock> blocks = TimetableService.CourseTimes.of(course).blocks();
+        String professorNo = course.getProfessor().getMemberNo();
+        if (timetableService.findProfessorConflict(professorNo, blocks, null).isPresent()) {
+            return "이미 해당 시간에 할당된 강의가 있습니다.";
+        }
+        Optional<String> sameFile = pending.findProfessorConflict(professorNo, blocks, null);
+        if (sameFile.isPresent()) {
+            return "파일 안의 다른 행과 교수 시간이 겹칩니다: " + sameFile.get().substring(1) + "행";
+        }
+        Optional<String> room = timetableService.findRoomConflict(course.getClassroom(), blocks, null);
+        if (room.isPresent()) {
+            return "해당 시간에 강의실을 사용하는 강의가 있습니다: " + room.get();
+        }
+        room = pending.findRoomConflict(course.getClassroom(), blocks, null);
+        if (room.isPresent()) {
+            return "파일 안의 다른 행과 강의실 시간이 겹칩니다: " + room.get().substring(1) + "행";
+        }
+        return null;
+    }
+
+    // ---- 저장 ----
+
+    private void assignCodes(List<ImportRow> chunk) {
+        for (ImportRow row : chunk) {
+            Subject subject = row.course().getSubject();
+            String deptCode = subject.getDepartment() != null ? subject.getDepartment().getDeptCode() : "GEN";
+            subject.setSCode(codeAllocator.nextSubjectCode(deptCode));
+            row.course().setCourseCode(codeAllocator.nextCourseCode(subject.getSCode()));
+        }
+    }
+
+    private void insert(List<ImportRow> chunk) {
+        List<Object[]> subjects = new ArrayList<>(chunk.size());
+        List<Object[]> courses = new ArrayList<>(chunk.size());
+        List<Object[]> schedules = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            Course course = row.course();
+            Subject subject = course.getSubject();
+            subjects.add(new Object[]{subject.getSCode(), subject.getSName(), subject.getCredit(), subject.getSType(),
+                    subject.getDepartment() != null ? subject.getDepartment().getDeptCode() : null});
+            courses.add(new Object[]{course.getCourseCode(), course.getAcademicYear(), course.getSemester(), subject.getSCode(),
+                    course.getCourseClass(), course.getProfessor().getMemberNo(), course.getMaxStu(),
+                    course.getClassroom(), course.getWaitlistCapacity()});
+            for (CourseSchedule schedule : course.getCourseSchedules()) {
+                schedules.add(new Object[]{course.getCourseCode(), schedule.getDayOfWeek(),
+                        Time.valueOf(schedule.getStartTime()), Time.valueOf(schedule.getEndTime())});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SUBJECT, subjects);
+        jdbcTemplate.batchUpdate(INSERT_COURSE, courses);
+        if (!schedules.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SCHEDULE, schedules);
+        }
+    }
+
+    // ---- 값 변환 ----
+
+    private static String text(Map<String, Object> record, String key) {
+        Object value = record.get(key);
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
+    }
+
+    private static Integer integer(Map<String, Object> record, String key) {
+        Object value = record.get(key);
+        if (value instanceof String text && text.isBlank()) {
+            return null;
+        }
+        Integer result = toInteger(value);
+        if (value != null && result == null) {
+            throw new IllegalArgumentException(key + " 값이 숫자가 아닙니다: " + value);
+        }
+        return result;
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Integer.parseInt(text.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static void addIfPresent(Set<String> target, String value) {
+        if (value != null) {
+            target.add(value);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.CourseDTO;
+import com.example.studentmanagement.dto.CourseRowDTO;
+import com.example.studentmanagement.dto.CourseScheduleRowDTO;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.CourseScheduleRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Course 엔티티를 읽지 않고 CourseDTO 를 조립한다.
+ * 강의 컬럼과 과목명/학점/학과명/교수명은 projection 한 번으로, 시간표는 강의코드 IN 쿼리 한 번으로 가져와
+ * 강의 수와 무관하게 쿼리 두 번으로 끝나고 조인에 의한 행 중복도 없다. 수강 인원은 호출하는 쪽에서 채운다.
+ */
+@Service
+public class CourseQueryService {
+
+    private final CourseRepository courseRepository;
+    private final CourseScheduleRepository courseScheduleRepository;
+
+    public CourseQueryService(CourseRepository courseRepository, CourseScheduleRepository courseScheduleRepository) {
+        this.courseRepository = courseRepository;
+        this.courseScheduleRepository = courseScheduleRepository;
+    }
+
+    /** 강의코드 -> DTO (강의코드 순). 없는 강의는 결과에서 빠진다. */
+    public Map<String, CourseDTO> findByCourseCodes(Collection<String> courseCodes) {
+        if (courseCodes.isEmpty()) {
+            return Map.of();
+        }
+        return assemble(courseRepository.findRowsByCourseCodes(courseCodes));
+    }
+
+    public List<CourseDTO> findByStudentNo(String studentNo) {
+        return new ArrayList<>(assemble(courseRepository.findRowsByStudentNo(studentNo)).values());
+    }
+
+    private Map<String, CourseDTO> assemble(List<CourseRowDTO> rows) {
+        List<String> courseCodes = new ArrayList<>(rows.size());
+        for (CourseRowDTO row : rows) {
+            courseCodes.add(row.getCourseCode());
+        }
+        Map<String, List<CourseScheduleRowDTO>> schedules = courseCodes.isEmpty()
+                ? Map.of() : groupByCourse(courseScheduleRepository.findRowsByCourseCodes(courseCodes));
+
+        Map<String, CourseDTO> result = new LinkedHashMap<>();
+        for (CourseRowDTO row : rows) {
+            result.put(row.getCourseCode(), toDTO(row, schedules.getOrDefault(row.getCourseCode(), List.of())));
+        }
+        return result;
+    }
+
+    static CourseDTO toDTO(CourseRowDTO row, List<CourseScheduleRowDTO> schedules) {
+        List<CourseDTO.ScheduleDTO> scheduleDTOs = new ArrayList<>(schedules.size());
+        for (CourseScheduleRowDTO schedule : schedules) {
+            scheduleDTOs.add(new CourseDTO.ScheduleDTO(schedule));
+        }
+        return new CourseDTO(row, List.copyOf(scheduleDTOs));
+    }
+
+    static Map<String, List<CourseScheduleRowDTO>> groupByCourse(List<CourseScheduleRowDTO> schedules) {
+        Map<String, List<CourseScheduleRowDTO>> grouped = new HashMap<>();
+        for (CourseScheduleRowDTO schedule : schedules) {
+            grouped.computeIfAbsent(schedule.getCourseCode(), k -> new ArrayList<>()).add(schedule);
+        }
+        return grouped;
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.studentmanagement.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 강의 검색용 역색인 (과목명, 강의코드, 교수명, 학과명).
+ * 각 필드를 공백 제거/소문자화한 뒤 1-gram, 2-gram 으로 색인해서 한글처럼 띄어쓰기가 일정하지 않은 검색어도
+ * 부분 문자열로 찾는다. 후보는 검색어 2-gram 의 posting 교집합으로 좁히고, 실제 포함 여부를 한 번 더 확인한다.
+ * 색인 변경은 CourseCatalogService 에서만 (동기화된 상태로) 호출된다.
+ */
+final class CourseSearchIndex {
+
+    enum Field {
+        SUBJECT_NAME(3),
+        COURSE_CODE(4),
+        PROFESSOR_NAME(2),
+        DEPARTMENT_NAME(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    // "필드순번:토큰" -> 강의코드 집합
+    private final Map<String, Set<String>> postings = new ConcurrentHashMap<>();
+    // 강의코드 -> 필드별 정규화된 값 (삭제/검증용)
+    private final Map<String, String[]> documents = new ConcurrentHashMap<>();
+
+    void put(String courseCode, Map<Field, String> fields) {
+        remove(courseCode);
+        String[] normalized = new String[Field.values().length];
+        for (Field field : Field.values()) {
+            String value = normalize(fields.get(field));
+            normalized[field.ordinal()] = value;
+            for (String token : tokens(value, true)) {
+                postings.computeIfAbsent(key(field, token), k -> ConcurrentHashMap.newKeySet()).add(courseCode);
+            }
+        }
+        documents.put(courseCode, normalized);
+    }
+
+    void remove(String courseCode) {
+        String[] normalized = documents.remove(courseCode);
+        if (normalized == null) {
+            return;
+        }
+        for (Field field : Field.values()) {
+            for (String token : tokens(normalized[field.ordinal()], true)) {
+                String key = key(field, token);
+                Set<String> posting = postings.get(key);
+                if (posting != null) {
+                    posting.remove(courseCode);
+                    if (posting.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * fields 중 하나라도 keyword 를 포함하는 강의의 점수를 반환한다.
+     * 필드 가중치에 더해, 값이 검색어와 같으면 3배, 검색어로 시작하면 2배로 계산한다.
+     */
+    Map<String, Integer> search(String keyword, Set<Field> fields) {
+        String query = normalize(keyword);
+        Map<String, Integer> scores = new HashMap<>();
+        if (query.isEmpty()) {
+            return scores;
+        }
+        List<String> queryTokens = tokens(query, false);
+
+        for (Field field : fields) {
+            for (String courseCode : candidates(field, queryTokens)) {
+                String[] document = documents.get(courseCode);
+                if (document == null) {
+                    continue;
+                }
+                String value = document[field.ordinal()];
+                if (!value.contains(query)) {
+                    continue;
+                }
+                int multiplier = value.equals(query) ? 3 : value.startsWith(query) ? 2 : 1;
+                scores.merge(courseCode, field.weight * multiplier, Integer::sum);
+            }
+        }
+        return scores;
+    }
+
+    // 검색어 토큰 posting 들의 교집합 (작은 집합부터 교차)
+    private Set<String> candidates(Field field, List<String> queryTokens) {
+        List<Set<String>> sets = new ArrayList<>(queryTokens.size());
+        for (String token : queryTokens) {
+            Set<String> posting = postings.get(key(field, token));
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            sets.add(posting);
+        }
+        sets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+        Set<String> result = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !result.isEmpty(); i++) {
+            result.retainAll(sets.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 색인 시에는 1-gram 과 2-gram 을 모두, 검색 시에는 2-gram 만 (한 글자 검색어는 1-gram) 사용한다.
+     */
+    private static List<String> tokens(String value, boolean forIndex) {
+        List<String> tokens = new ArrayList<>();
+        int length = value.length();
+        if (length == 0) {
+            return tokens;
+        }
+        if (forIndex || length == 1) {
+            for (int i = 0; i < length; i++) {
+                tokens.add(value.substring(i, i + 1));
+            }
+        }
+        for (int i = 0; i + 2 <= length; i++) {
+            tokens.add(value.substring(i, i + 2));
+        }
+        return tokens;
+    }
+
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static String key(Field field, String token) {
+        return field.ordinal() + ":" + token;
+    }
+
+    static Set<Field> allFields() {
+        return EnumSet.allOf(Field.class);
+    }
+}
@@ -1,40 +1,405 @@
 package com.example.studentmanagement.service;
 
-import com.example.studentmanagement.beans.Course;
-import com.example.studentmanagement.beans.Enrollment;
-import com.example.studentmanagement.beans.Member;
-import com.example.studentmanagement.repository.EnrollmentRepository;
-import com.example.studentmanagement.repository.MemberRepository;
-import jakarta.persistence.EntityNotFoundException;
-import org.springframework.scheduling.annotation.Async;
+import com.example.studentmanagement.config.AsyncConfig;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.Instant;
-import java.util.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * 수강신청 DB 저장 write-behind 단계.
+ * enroll.lua / cancel.lua 가 Redis Stream 에 적재한 신청·취소 요청을 묶음 단위로 읽어
+ * 다중 행 INSERT/DELETE 로 저장하고, 실패한 요청은 재시도 후 dead-letter 스트림으로 보낸다.
+ * 묶음 저장은 enrollmentExecutor 에서 병렬로 실행되며, 포화 시 동작은 SaturationPolicy 를 따른다.
+ * 실패/거절된 요청은 retry-backoff 뒤에 다시 처리되므로 같은 학생·강의의 요청이 스트림 순서와 다르게 도착할 수 있다.
+ * 그래서 (학생, 강의) 별로 마지막으로 반영한 스트림 순번을 enrollment_write_seq 에 남기고, 그보다 오래된 요청은
+ * 반영하지 않고 ACK 만 한다 (늦게 재처리된 신청이 이미 반영된 취소를 되살리지 않도록).
+ */
 @Service
 public class EnrollmentDbWriterService {
 
-    private final EnrollmentRepository enrollmentRepository;
-    private final MemberRepository memberRepository;
+    public static final String STREAM_KEY = "stream:enrollment";
+    public static final String DEAD_LETTER_KEY = "stream:enrollment:dlq";
+    public static final String GROUP = "enrollment-writer";
 
-    public EnrollmentDbWriterService(EnrollmentRepository enrollmentRepository, MemberRepository memberRepository) {
-        this.enrollmentRepository = enrollmentRepository;
-        this.memberRepository = memberRepository;
+    public static final String OP_ENROLL = "ENROLL";
+    public static final String OP_CANCEL = "CANCEL";
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO enrollment (stu_no, course_code, enrollment_date, enrollment_status) VALUES ";
+    // uk_enrollment(stu_no, course_code) 때문에 재전달된 요청은 조용히 무시된다 (멱등)
+    private static final String INSERT_SUFFIX = " ON DUPLICATE KEY UPDATE enrollment_id = enrollment_id";
+
+    // 순번은 더 큰 값으로만 바뀐다. 이 UPSERT 가 (학생, 강의) 행을 잠그므로 같은 쌍을 다른 노드가 동시에 반영하지 못한다
+    private static final String SEQ_UPSERT_PREFIX =
+            "INSERT INTO enrollment_write_seq (stu_no, course_code, last_seq) VALUES ";
+    private static final String SEQ_UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE last_seq = GREATEST(last_seq, VALUES(last_seq))";
+
+    private static final RedisScript<Long> ACK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/stream_ack.lua"), Long.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final AsyncTaskExecutor enrollmentExecutor;
+    private final String consumerName = "writer-" + UUID.randomUUID();
+    private volatile boolean groupReady = false;
+    private volatile long overloadedUntil = 0L;
+
+    @Value("${enrollment.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${enrollment.writer.batches-per-poll:4}")
+    private int batchesPerPoll;
+
+    @Value("${enrollment.writer.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${enrollment.writer.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${enrollment.executor.saturation-policy:SPILL}")
+    private AsyncConfig.SaturationPolicy saturationPolicy;
+
+    public EnrollmentDbWriterService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                     @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                     @Qualifier("enrollmentExecutor") AsyncTaskExecutor enrollmentExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.enrollmentExecutor = enrollmentExecutor;
+    }
+
+    /**
+     * SHED 정책에서 최근에 저장 작업이 거절됐다면 true. 이 동안 신규 수강신청은 503 으로 거절된다.
+     */
+    public boolean isOverloaded() {
+        return saturationPolicy == AsyncConfig.SaturationPolicy.SHED && System.currentTimeMillis() < overloadedUntil;
+    }
+
+    public long getRetryBackoffMs() {
+        return retryBackoffMs;
     }
 
-    @Async("enrollmentExecutor")
-    @Transactional
-    public void saveEnrollmentAsync(String studentNo, Course course) {
-        Member student = memberRepository.findByMemberNo(studentNo)
-                .orElseThrow(() -> new EntityNotFoundException("Student not found: " + studentNo));
+    @Scheduled(fixedDelayString = "${enrollment.writer.poll-interval-ms:200}")
+    public void drain() {
+        try {
+            ensureGroup();
+            retryPending();
+
+            List<MapRecord<String, Object, Object>> records = streamOps().read(
+                    Consumer.from(GROUP, consumerName),
+                    StreamReadOptions.empty().count((long) batchSize * batchesPerPoll),
+                    StreamOffset.create(STREAM_KEY, ReadOffset.lastConsumed()));
+            if (records == null || records.isEmpty()) {
+                return;
+            }
+
+            // 같은 강의의 요청은 같은 묶음으로 모아서 묶음끼리 같은 순번 행을 두고 잠금 경합하지 않게 한다
+            List<List<MapRecord<String, Object, Object>>> partitions = new ArrayList<>();
+            for (int i = 0; i < batchesPerPoll; i++) {
+                partitions.add(new ArrayList<>());
+            }
+            for (MapRecord<String, Object, Object> record : records) {
+                String courseCode = field(record, "courseCode");
+                int partition = courseCode != null ? Math.floorMod(courseCode.hashCode(), batchesPerPoll) : 0;
+                partitions.get(partition).add(record);
+            }
+
+            // 이번 주기의 묶음이 모두 끝난 뒤에 다음 묶음을 읽는다 (DB 가 느리면 읽는 속도도 같이 줄어든다)
+            List<CompletableFuture<Void>> inFlight = new ArrayList<>();
+            for (List<MapRecord<String, Object, Object>> partition : partitions) {
+                if (!partition.isEmpty()) {
+                    CompletableFuture<Void> future = submit(partition);
+                    if (future != null) {
+                        inFlight.add(future);
+                    }
+                }
+            }
+            CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).join();
+        } catch (Exception e) {
+            System.err.println("Enrollment write-behind drain failed: " + e.getMessage());
+        }
+    }
+
+    // 일정 시간 이상 ACK 되지 않은 요청(이 노드의 실패분 + 죽은 노드가 잡고 있던 요청)을 가져와 재처리
+    private void retryPending() {
+        PendingMessages pending = streamOps().pending(STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        Duration backoff = Duration.ofMillis(retryBackoffMs);
+
+        Map<String, Long> deliveryCounts = new HashMap<>();
+        List<RecordId> ids = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(backoff) >= 0) {
+                ids.add(message.getId());
+                deliveryCounts.put(message.getIdAsString(), message.getTotalDeliveryCount());
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = streamOps().claim(
+                STREAM_KEY, GROUP, consumerName, backoff, ids.toArray(new RecordId[0]));
+
+        List<MapRecord<String, Object, Object>> retry = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : claimed) {
+            if (deliveryCounts.getOrDefault(record.getId().getValue(), 0L) >= maxAttempts) {
+                deadLetter(record, "max attempts exceeded");
+            } else {
+                retry.add(record);
+            }
+        }
+        if (!retry.isEmpty()) {
+            persist(retry);
+        }
+    }
+
+    private CompletableFuture<Void> submit(List<MapRecord<String, Object, Object>> records) {
+        try {
+            return enrollmentExecutor.submitCompletable(() -> persist(records));
+        } catch (TaskRejectedException e) {
+            // ACK 하지 않았으므로 요청은 스트림(PEL)에 남고, retry-backoff 이후 retryPending 에서 재처리된다
+            if (saturationPolicy == AsyncConfig.SaturationPolicy.SHED) {
+                overloadedUntil = System.currentTimeMillis() + retryBackoffMs;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 스트림에 DB 저장 요청을 직접 적재한다. Lua 스크립트를 거치지 않는 경로(예: Redis 캐시 유실 후 취소)에서 사용.
+     */
+    public void enqueue(String op, String studentNo, String courseCode) {
+        Map<String, String> body = new HashMap<>();
+        body.put("op", op);
+        body.put("studentNo", studentNo);
+        body.put("courseCode", courseCode);
+        body.put("requestedAt", String.valueOf(System.currentTimeMillis()));
+        if (OP_CANCEL.equals(op)) {
+            // cancel.lua 와 같은 미반영 표시 (스트림에 넣기 전에 올려서 표시 없이 대기하는 취소가 없도록)
+            redisTemplate.opsForHash().increment(EnrollmentKeys.pendingCancels(),
+                    EnrollmentKeys.pendingCancelField(courseCode, studentNo), 1);
+        }
+        streamOps().add(STREAM_KEY, body);
+    }
+
+    private void persist(List<MapRecord<String, Object, Object>> records) {
+        List<MapRecord<String, Object, Object>> valid = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            String op = field(record, "op");
+            if (!OP_ENROLL.equals(op) && !OP_CANCEL.equals(op)) {
+                deadLetter(record, "unknown op");
+            } else if (field(record, "studentNo") == null || field(record, "courseCode") == null
+                    || field(record, "requestedAt") == null) {
+                deadLetter(record, "malformed record");
+            } else {
+                valid.add(record);
+            }
+        }
+
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(valid));
+            ack(valid);
+        } catch (DataAccessException | TransactionException e) {
+            // 묶음 실패 시 한 건씩 저장해서 문제 요청만 PEL 에 남긴다 (다음 retryPending 에서 재시도)
+            for (MapRecord<String, Object, Object> record : valid) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(List.of(record)));
+                    ack(List.of(record));
+                } catch (DataAccessException | TransactionException rowError) {
+                    System.err.println("Enrollment write failed for record " + record.getId() + ": " + rowError.getMessage());
+                }
+            }
+        }
+    }
+
+    // 한 트랜잭션 안에서: 순번 기록 -> 반영된 순번 확인 -> 순번이 자기 것인 요청만 INSERT/DELETE
+    void write(List<MapRecord<String, Object, Object>> records) {
+        // (학생, 강의) 별로 가장 최근 요청만 남긴다. 정렬해 두면 노드끼리 같은 순서로 행을 잠가 교착이 줄어든다
+        Map<String, MapRecord<String, Object, Object>> latest = new TreeMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            latest.merge(pairKey(record), record, (a, b) -> sequence(a) >= sequence(b) ? a : b);
+        }
+
+        StringBuilder upsert = new StringBuilder(SEQ_UPSERT_PREFIX);
+        StringBuilder select = new StringBuilder(
+                "SELECT stu_no, course_code, last_seq FROM enrollment_write_seq WHERE (stu_no, course_code) IN (");
+        List<Object> upsertArgs = new ArrayList<>(latest.size() * 3);
+        List<Object> selectArgs = new ArrayList<>(latest.size() * 2);
+        for (MapRecord<String, Object, Object> record : latest.values()) {
+            if (!selectArgs.isEmpty()) {
+                upsert.append(',');
+                select.append(',');
+            }
+            upsert.append("(?, ?, ?)");
+            select.append("(?, ?)");
+            upsertArgs.add(field(record, "studentNo"));
+            upsertArgs.add(field(record, "courseCode"));
+            upsertArgs.add(sequence(record));
+            selectArgs.add(field(record, "studentNo"));
+            selectArgs.add(field(record, "courseCode"));
+        }
+        upsert.append(SEQ_UPSERT_SUFFIX);
+        select.append(')');
+        jdbcTemplate.update(upsert.toString(), upsertArgs.toArray());
+
+        Map<String, Long> lastSeqs = new HashMap<>();
+        jdbcTemplate.query(select.toString(), rs -> {
+            lastSeqs.put(rs.getString(1) + "|" + rs.getString(2), rs.getLong(3));
+        }, selectArgs.toArray());
+
+        // 더 최근 요청이 이미 반영된 쌍은 건너뛴다 (요청은 호출한 쪽에서 ACK 되어 사라진다)
+        List<MapRecord<String, Object, Object>> enrolls = new ArrayList<>();
+        List<MapRecord<String, Object, Object>> cancels = new ArrayList<>();
+        for (MapRecord<String, Object, Object> record : latest.values()) {
+            Long lastSeq = lastSeqs.get(pairKey(record));
+            if (lastSeq == null || lastSeq != sequence(record)) {
+                continue;
+            }
+            if (OP_ENROLL.equals(field(record, "op"))) {
+                enrolls.add(record);
+            } else {
+                cancels.add(record);
+            }
+        }
+        if (!enrolls.isEmpty()) {
+            insertEnrollments(enrolls);
+        }
+        if (!cancels.isEmpty()) {
+            deleteEnrollments(cancels);
+        }
+    }
+
+    private void insertEnrollments(List<MapRecord<String, Object, Object>> records) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        List<Object> args = new ArrayList<>(records.size() * 3);
+        for (MapRecord<String, Object, Object> record : records) {
+            if (!args.isEmpty()) {
+                sql.append(',');
+            }
+            sql.append("(?, ?, ?, 'ENROLLED')");
+            args.add(field(record, "studentNo"));
+            args.add(field(record, "courseCode"));
+            args.add(new Timestamp(Long.parseLong(field(record, "requestedAt"))));
+        }
+        sql.append(INSERT_SUFFIX);
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private void deleteEnrollments(List<MapRecord<String, Object, Object>> records) {
+        StringBuilder sql = new StringBuilder("DELETE FROM enrollment WHERE (stu_no, course_code) IN (");
+        List<Object> args = new ArrayList<>(records.size() * 2);
+        for (MapRecord<String, Object, Object> record : records) {
+            if (!args.isEmpty()) {
+                sql.append(',');
+            }
+            sql.append("(?, ?)");
+            args.add(field(record, "studentNo"));
+            args.add(field(record, "courseCode"));
+        }
+        sql.append(')');
+        jdbcTemplate.update(sql.toString(), args.toArray());
+    }
+
+    private void deadLetter(MapRecord<String, Object, Object> record, String reason) {
+        Map<String, String> body = new HashMap<>();
+        record.getValue().forEach((k, v) -> body.put(String.valueOf(k), String.valueOf(v)));
+        body.put("sourceId", record.getId().getValue());
+        body.put("reason", reason);
+        streamOps().add(DEAD_LETTER_KEY, body);
+        ack(List.of(record));
+    }
+
+    // ACK 하고 스트림에서 지우면서 취소 요청의 미반영 표시를 내린다 (반영/건너뜀/dead-letter 모두 더 이상 대기 중이 아님)
+    private void ack(List<MapRecord<String, Object, Object>> records) {
+        List<Object> args = new ArrayList<>(records.size() * 2 + 1);
+        args.add(GROUP);
+        for (MapRecord<String, Object, Object> record : records) {
+            args.add(record.getId().getValue());
+            boolean cancel = OP_CANCEL.equals(field(record, "op"))
+                    && field(record, "studentNo") != null && field(record, "courseCode") != null;
+            args.add(cancel ? EnrollmentKeys.pendingCancelField(field(record, "courseCode"), field(record, "studentNo")) : "");
+        }
+        redisTemplate.execute(ACK_SCRIPT, List.of(STREAM_KEY, EnrollmentKeys.pendingCancels()), args.toArray());
+    }
+
+    private void ensureGroup() {
+        if (groupReady) {
+            return;
+        }
+        try {
+            streamOps().createGroup(STREAM_KEY, ReadOffset.from("0"), GROUP);
+        } catch (RuntimeException e) {
+            if (!isBusyGroup(e)) {
+                throw e;
+            }
+        }
+        groupReady = true;
+    }
+
+    // BUSYGROUP: 이미 그룹이 존재하는 경우 (다른 노드가 먼저 생성)
+    private static boolean isBusyGroup(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains("BUSYGROUP")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pairKey(MapRecord<String, Object, Object> record) {
+        return field(record, "studentNo") + "|" + field(record, "courseCode");
+    }
+
+    /**
+     * 스트림 ID(밀리초-순번)를 크기 비교가 가능한 long 으로 바꾼다.
+     * 같은 밀리초 안의 순번은 백만 미만으로 보고 자른다 (실제로는 수십 건 수준).
+     */
+    static long sequence(MapRecord<String, Object, Object> record) {
+        RecordId id = record.getId();
+        return id.getTimestamp() * 1_000_000L + Math.min(id.getSequence(), 999_999L);
+    }
+
+    private static String field(MapRecord<String, Object, Object> record, String name) {
+        Object value = record.getValue().get(name);
+        return value != null ? value.toString() : null;
+    }
 
-        Enrollment enrollment = new Enrollment();
-        enrollment.setStudent(student);
-        enrollment.setCourse(course);
-        enrollment.setEnrollmentDate(Date.from(Instant.now()));
-        enrollment.setEnrollmentStatus("ENROLLED");
-        enrollmentRepository.save(enrollment);
+    private StreamOperations<String, Object, Object> streamOps() {
+        return redisTemplate.opsForStream();
     }
 }
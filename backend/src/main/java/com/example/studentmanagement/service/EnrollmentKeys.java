@@ -0,0 +1,65 @@
+package com.example.studentmanagement.service;
+
+/**
+ * 수강신청 관련 Redis 키 규칙. 여러 서비스와 Lua 스크립트가 같은 키를 공유하므로 한 곳에서 관리한다.
+ */
+public final class EnrollmentKeys {
+
+    private EnrollmentKeys() {
+    }
+
+    // 강의별 신청 학생 Set
+    public static String enrollment(String courseCode) {
+        return "enrollment:" + courseCode;
+    }
+
+    // 강의별 최대 수강 인원
+    public static String maxStu(String courseCode) {
+        return "course:max_stu:" + courseCode;
+    }
+
+    // 강의별 현재 신청 인원
+    public static String count(String courseCode) {
+        return "course:count:" + courseCode;
+    }
+
+    // 강의별 대기열 (Sorted Set, score = 대기 등록 시각)
+    public static String waitlist(String courseCode) {
+        return "waitlist:" + courseCode;
+    }
+
+    // 학생별 신청 강의 Set (시간표 충돌 검사용, enroll.lua / cancel.lua 에서 함께 갱신)
+    public static String studentCourses(String studentNo) {
+        return "student:courses:" + studentNo;
+    }
+
+    // 학생별 신청 강의 Set 에 DB 내역까지 반영되었는지 표시 (없으면 Set 이 일부만 있을 수 있으므로 DB 에서 다시 채움)
+    public static String studentCoursesLoaded(String studentNo) {
+        return "student:courses:loaded:" + studentNo;
+    }
+
+    // 학생별 대기 중인 강의 Set (시간표 충돌 검사용, enroll.lua 에서 추가, 승격/대기 취소 시 제거)
+    // 대기열에서 빠진 뒤에도 남아 있을 수 있으므로 사용할 때 대기열(waitlist)에 실제로 있는지 확인한다
+    public static String studentWaitlists(String studentNo) {
+        return "student:waitlists:" + studentNo;
+    }
+
+    // 학생별 수강신청 처리 락 (같은 학생의 신청을 직렬화해 충돌 검사와 좌석 확보 사이에 다른 신청이 끼지 않도록)
+    public static String studentEnrollLock(String studentNo) {
+        return "lock:enrollment:student:" + studentNo;
+    }
+
+    // 강의별 대기열 정원 (키가 없으면 대기열 미사용)
+    public static String waitlistMax(String courseCode) {
+        return "course:waitlist_max:" + courseCode;
+    }
+
+    // DB 에 아직 반영되지 않은 취소 요청 수 (Hash, field = pendingCancelField, cancel.lua 에서 증가, write-behind ACK 시 감소)
+    public static String pendingCancels() {
+        return "enrollment:pending_cancel";
+    }
+
+    public static String pendingCancelField(String courseCode, String studentNo) {
+        return courseCode + "|" + studentNo;
+    }
+}
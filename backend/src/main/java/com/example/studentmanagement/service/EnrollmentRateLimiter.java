@@ -0,0 +1,67 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.exception.RateLimitExceededException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * POST /api/enrollments 앞단의 분산 토큰 버킷.
+ * 학생별 버킷(재시도 폭주 방지)과 강의별 버킷(인기 강의로의 집중 방지)을 Redis 한 번의 호출로 함께 확인한다.
+ */
+@Service
+public class EnrollmentRateLimiter {
+
+    private static final RedisScript<Long> RATE_LIMIT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rate_limit.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${enrollment.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${enrollment.rate-limit.student.burst:5}")
+    private int studentBurst;
+
+    @Value("${enrollment.rate-limit.student.refill-per-second:1}")
+    private double studentRefillPerSecond;
+
+    @Value("${enrollment.rate-limit.course.burst:200}")
+    private int courseBurst;
+
+    @Value("${enrollment.rate-limit.course.refill-per-second:100}")
+    private double courseRefillPerSecond;
+
+    public EnrollmentRateLimiter(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    // rate_limit.lua 가 충전량으로 나누므로 0 이하 설정은 기동 시점에 거절한다
+    @PostConstruct
+    void validate() {
+        if (enabled && (studentBurst < 1 || courseBurst < 1 || studentRefillPerSecond <= 0 || courseRefillPerSecond <= 0)) {
+            throw new IllegalStateException("enrollment.rate-limit burst must be >= 1 and refill-per-second must be > 0");
+        }
+    }
+
+    public void acquire(String studentNo, String courseCode) {
+        if (!enabled) {
+            return;
+        }
+        Long waitMs = redisTemplate.execute(
+                RATE_LIMIT_SCRIPT,
+                List.of("ratelimit:student:" + studentNo, "ratelimit:course:" + courseCode),
+                String.valueOf(studentBurst), String.valueOf(studentRefillPerSecond),
+                String.valueOf(courseBurst), String.valueOf(courseRefillPerSecond));
+        if (waitMs != null && waitMs > 0) {
+            throw new RateLimitExceededException("Too many enrollment requests, please retry later",
+                    Math.max(1, (waitMs + 999) / 1000));
+        }
+    }
+}
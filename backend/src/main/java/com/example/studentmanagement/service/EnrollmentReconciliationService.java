@@ -0,0 +1,297 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.EnrollmentKeyDTO;
+import com.example.studentmanagement.repository.CourseRepository;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis 수강신청 상태(enrollment:{code} Set, course:count:{code} 카운터)를 enrollment 테이블 기준으로 보정한다.
+ * 한 번에 강의 한 페이지씩만 처리하고 커서를 Redis 에 저장해서, 여러 주기에 걸쳐 전체 강의를 순회한다.
+ * write-behind 가 아직 DB 에 반영하지 않은 신청/취소를 불일치로 오인하지 않도록, Redis 에만 있는 학생과
+ * DB 에만 있는 학생 모두 phantom-grace-ms 이상 계속 관찰된 경우에만 고친다. 관찰 시작 시각은 Redis 에 저장해서
+ * 보정 락을 다른 노드가 이어받아도 유예 시간이 처음부터 다시 시작되지 않는다.
+ * DB 삭제를 기다리는 취소 요청(enrollment:pending_cancel)이 있는 학생은 Set 에 다시 넣지 않는다.
+ */
+@Service
+public class EnrollmentReconciliationService {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECONCILE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/reconcile.lua"), List.class);
+    private static final RedisScript<Long> UNLOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/unlock.lua"), Long.class);
+
+    private static final String LOCK_KEY = "lock:enrollment:reconcile";
+    private static final String CURSOR_KEY = "reconcile:enrollment:cursor";
+    // 강의별 불일치 후보 (Hash, field = "P:" + 학번 (Redis 에만 있음) 또는 "M:" + 학번 (DB 에만 있음), value = 처음 관찰된 시각)
+    private static final String CANDIDATES_PREFIX = "reconcile:enrollment:candidates:";
+    private static final String PHANTOM = "P:";
+    private static final String MISSING = "M:";
+    // 한 바퀴 순회가 이보다 오래 걸리는 경우는 없다고 보고, 삭제된 강의의 후보가 남지 않게 한다
+    private static final Duration CANDIDATES_TTL = Duration.ofDays(1);
+
+    private final CourseRepository courseRepository;
+    private final EnrollmentRepository enrollmentRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final Counter phantomRemoved;
+    private final Counter missingAdded;
+    private final Counter counterCorrected;
+    private final Timer pageTimer;
+    private final AtomicInteger driftedCoursesLastSweep = new AtomicInteger();
+    private int driftedCoursesThisSweep = 0;
+
+    @Value("${enrollment.reconcile.page-size:200}")
+    private int pageSize;
+
+    @Value("${enrollment.reconcile.phantom-grace-ms:600000}")
+    private long phantomGraceMs;
+
+    @Value("${enrollment.reconcile.interval-ms:10000}")
+    private long intervalMs;
+
+    public EnrollmentReconciliationService(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository,
+                                           @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                           MeterRegistry meterRegistry) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+        this.redisTemplate = redisTemplate;
+        this.phantomRemoved = Counter.builder("enrollment.reconcile.phantom.removed")
+                .description("Students removed from Redis enrollment sets because they have no DB row")
+                .register(meterRegistry);
+        this.missingAdded = Counter.builder("enrollment.reconcile.missing.added")
+                .description("Students added to Redis enrollment sets from DB rows")
+                .register(meterRegistry);
+        this.counterCorrected = Counter.builder("enrollment.reconcile.counter.corrected")
+                .description("Absolute seat-count drift corrected in course:count keys")
+                .register(meterRegistry);
+        this.pageTimer = Timer.builder("enrollment.reconcile.page")
+                .register(meterRegistry);
+        Gauge.builder("enrollment.reconcile.drifted.courses", driftedCoursesLastSweep, AtomicInteger::get)
+                .description("Courses with Redis/DB drift found in the last full sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${enrollment.reconcile.interval-ms:10000}",
+            initialDelayString = "${enrollment.reconcile.initial-delay-ms:60000}")
+    public void reconcileNextPage() {
+        try {
+            // 여러 노드 중 한 곳에서만 실행. 처리가 길어져 락이 만료된 뒤 다른 노드가 잡은 락은 지우지 않는다
+            String token = UUID.randomUUID().toString();
+            Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofMillis(intervalMs));
+            if (!Boolean.TRUE.equals(locked)) {
+                return;
+            }
+            try {
+                pageTimer.record(this::reconcilePage);
+            } finally {
+                redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+            }
+        } catch (Exception e) {
+            System.err.println("Enrollment reconciliation failed: " + e.getMessage());
+        }
+    }
+
+    private void reconcilePage() {
+        String cursor = (String) redisTemplate.opsForValue().get(CURSOR_KEY);
+        List<String> courseCodes = courseRepository.findCourseCodesAfter(cursor != null ? cursor : "", PageRequest.of(0, pageSize));
+
+        if (courseCodes.isEmpty()) {
+            // 한 바퀴 순회 완료: 처음부터 다시
+            driftedCoursesLastSweep.set(driftedCoursesThisSweep);
+            driftedCoursesThisSweep = 0;
+            redisTemplate.delete(CURSOR_KEY);
+            return;
+        }
+
+        reconcile(courseCodes);
+        redisTemplate.opsForValue().set(CURSOR_KEY, courseCodes.get(courseCodes.size() - 1));
+    }
+
+    private void reconcile(List<String> courseCodes) {
+        // 1. 이 페이지에 해당하는 DB 수강생만 조회
+        Map<String, Set<String>> dbStudents = new HashMap<>();
+        for (String courseCode : courseCodes) {
+            dbStudents.put(courseCode, new HashSet<>());
+        }
+        for (EnrollmentKeyDTO key : enrollmentRepository.findEnrollmentKeysByCourseCodes(courseCodes)) {
+            dbStudents.get(key.getCourseCode()).add(key.getStudentNo());
+        }
+
+        // 2. Redis Set, 카운터, 불일치 후보를 파이프라인으로 한 번에 조회
+        List<Object> redisState = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String courseCode : courseCodes) {
+                connection.setCommands().sMembers(bytes(EnrollmentKeys.enrollment(courseCode)));
+                connection.stringCommands().get(bytes(EnrollmentKeys.count(courseCode)));
+                connection.hashCommands().hGetAll(bytes(CANDIDATES_PREFIX + courseCode));
+            }
+            return null;
+        });
+        // DB 삭제 대기 중인 취소 (진행 중인 취소 수만큼이라 작다)
+        Set<String> pendingCancels = toStrings(redisTemplate.opsForHash().keys(EnrollmentKeys.pendingCancels()));
+
+        long now = System.currentTimeMillis();
+        Map<String, Map<String, String>> nextCandidates = new HashMap<>();
+        for (int i = 0; i < courseCodes.size(); i++) {
+            String courseCode = courseCodes.get(i);
+            Set<String> inRedis = toStrings(redisState.get(i * 3));
+            Object countValue = redisState.get(i * 3 + 1);
+            long count = countValue != null ? Long.parseLong(countValue.toString()) : 0L;
+            Map<String, Long> previous = toFirstSeen(redisState.get(i * 3 + 2));
+            Set<String> inDb = dbStudents.get(courseCode);
+            Map<String, String> candidates = new HashMap<>();
+
+            List<String> toAdd = new ArrayList<>();
+            for (String studentNo : inDb) {
+                if (inRedis.contains(studentNo)
+                        || pendingCancels.contains(EnrollmentKeys.pendingCancelField(courseCode, studentNo))) {
+                    continue;
+                }
+                if (graceElapsed(previous, MISSING + studentNo, now, candidates)) {
+                    toAdd.add(studentNo);
+                }
+            }
+
+            List<String> toRemove = new ArrayList<>();
+            for (String studentNo : inRedis) {
+                if (inDb.contains(studentNo)) {
+                    continue;
+                }
+                if (graceElapsed(previous, PHANTOM + studentNo, now, candidates)) {
+                    toRemove.add(studentNo);
+                }
+            }
+            if (!candidates.equals(toStringValues(previous))) {
+                nextCandidates.put(courseCode, candidates);
+            }
+
+            if (toAdd.isEmpty() && toRemove.isEmpty() && count == inRedis.size()) {
+                continue;
+            }
+            repair(courseCode, toRemove, toAdd);
+        }
+        saveCandidates(nextCandidates);
+    }
+
+    // 유예 시간이 지났으면 true. 아직이면 후보로 남긴다 (처음 보는 학생은 지금부터 관찰 시작)
+    private boolean graceElapsed(Map<String, Long> previous, String field, long now, Map<String, String> candidates) {
+        long firstSeen = previous.getOrDefault(field, now);
+        if (now - firstSeen >= phantomGraceMs) {
+            return true;
+        }
+        candidates.put(field, String.valueOf(firstSeen));
+        return false;
+    }
+
+    // 바뀐 강의의 후보만 통째로 교체한다
+    private void saveCandidates(Map<String, Map<String, String>> candidatesByCourse) {
+        if (candidatesByCourse.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<String, Map<String, String>> entry : candidatesByCourse.entrySet()) {
+                byte[] key = bytes(CANDIDATES_PREFIX + entry.getKey());
+                connection.keyCommands().del(key);
+                if (!entry.getValue().isEmpty()) {
+                    Map<byte[], byte[]> fields = new HashMap<>();
+                    entry.getValue().forEach((field, firstSeen) -> fields.put(bytes(field), bytes(firstSeen)));
+                    connection.hashCommands().hMSet(key, fields);
+                    connection.keyCommands().pExpire(key, CANDIDATES_TTL.toMillis());
+                }
+            }
+            return null;
+        });
+    }
+
+    private void repair(String courseCode, List<String> toRemove, List<String> toAdd) {
+        List<Object> args = new ArrayList<>(toRemove.size() + toAdd.size() + 2);
+        args.add(courseCode);
+        args.add(String.valueOf(toRemove.size()));
+        args.addAll(toRemove);
+        args.addAll(toAdd);
+
+        List<?> result = redisTemplate.execute(RECONCILE_SCRIPT,
+                List.of(EnrollmentKeys.enrollment(courseCode), EnrollmentKeys.count(courseCode), EnrollmentKeys.pendingCancels()),
+                args.toArray());
+        Long drift = result != null && !result.isEmpty() ? Long.valueOf(result.get(0).toString()) : null;
+        // 스크립트가 실제로 추가한 학생만 (조회 이후 취소된 학생은 스크립트에서 제외됨)
+        List<String> added = new ArrayList<>();
+        if (result != null) {
+            for (int i = 1; i < result.size(); i++) {
+                added.add(result.get(i).toString());
+            }
+        }
+
+        // 학생별 신청 강의 Set 도 같은 기준으로 맞춘다
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            byte[] member = bytes(courseCode);
+            for (String studentNo : toRemove) {
+                connection.setCommands().sRem(bytes(EnrollmentKeys.studentCourses(studentNo)), member);
+            }
+            for (String studentNo : added) {
+                connection.setCommands().sAdd(bytes(EnrollmentKeys.studentCourses(studentNo)), member);
+            }
+            return null;
+        });
+
+        phantomRemoved.increment(toRemove.size());
+        missingAdded.increment(added.size());
+        if (drift != null) {
+            counterCorrected.increment(Math.abs(drift));
+        }
+        driftedCoursesThisSweep++;
+    }
+
+    private static Map<String, Long> toFirstSeen(Object fields) {
+        Map<String, Long> result = new HashMap<>();
+        if (fields instanceof Map<?, ?> map) {
+            map.forEach((field, firstSeen) -> result.put(field.toString(), Long.parseLong(firstSeen.toString())));
+        }
+        return result;
+    }
+
+    private static Map<String, String> toStringValues(Map<String, Long> fields) {
+        Map<String, String> result = new HashMap<>();
+        fields.forEach((field, firstSeen) -> result.put(field, String.valueOf(firstSeen)));
+        return result;
+    }
+
+    private static Set<String> toStrings(Object members) {
+        Set<String> result = new HashSet<>();
+        if (members instanceof Collection<?> collection) {
+            for (Object member : collection) {
+                result.add(member.toString());
+            }
+        }
+        return result;
+    }
+
+    private static byte[] bytes(String key) {
+        return key.getBytes(StandardCharsets.UTF_8);
+    }
+}
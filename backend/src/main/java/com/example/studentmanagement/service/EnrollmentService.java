@@ -1,101 +1,233 @@
 package com.example.studentmanagement.service;
 
 import com.example.studentmanagement.beans.Course;
-import com.example.studentmanagement.beans.Enrollment;
-import com.example.studentmanagement.beans.Member;
+import com.example.studentmanagement.beans.EnrollmentAdmissionResult;
+import com.example.studentmanagement.dto.EnrollmentRowDTO;
 import com.example.studentmanagement.exception.EnrollmentException;
+import com.example.studentmanagement.exception.ServiceOverloadedException;
 import com.example.studentmanagement.repository.CourseRepository;
 import com.example.studentmanagement.repository.EnrollmentRepository;
-import com.example.studentmanagement.repository.MemberRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Instant;
-import java.util.Date;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 public class EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
     private final CourseRepository courseRepository;
-    private final MemberRepository memberRepository;
     private final RedisTemplate<String, Object> redisTemplate;
-
-    public EnrollmentService(EnrollmentRepository enrollmentRepository, CourseRepository courseRepository, MemberRepository memberRepository, @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+    private final EnrollmentDbWriterService enrollmentDbWriterService;
+    private final TimetableService timetableService;
+    private final CourseCacheService courseCacheService;
+
+    private static final RedisScript<Long> ENROLL_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/enroll.lua"), Long.class);
+    private static final RedisScript<String> CANCEL_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/cancel.lua"), String.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> STUDENT_COURSES_SEED_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/student_courses_seed.lua"), List.class);
+    private static final RedisScript<Long> UNLOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/unlock.lua"), Long.class);
+
+    @Value("${enrollment.student-lock-ms:5000}")
+    private long studentLockMs;
+
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, CourseRepository courseRepository, @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                             EnrollmentDbWriterService enrollmentDbWriterService, TimetableService timetableService,
+                             CourseCacheService courseCacheService) {
         this.enrollmentRepository = enrollmentRepository;
         this.courseRepository = courseRepository;
-        this.memberRepository = memberRepository;
         this.redisTemplate = redisTemplate;
+        this.enrollmentDbWriterService = enrollmentDbWriterService;
+        this.timetableService = timetableService;
+        this.courseCacheService = courseCacheService;
     }
 
     @Transactional
-    public void enrollCourse(String studentNo, String courseCode) {
-        // 1. Redis Set을 이용한 중복 신청 확인 (DB 조회보다 빠름)
-        String enrollmentKey = "enrollment:" + courseCode;
-        if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(enrollmentKey, studentNo))) {
-            throw new EnrollmentException("Already enrolled in this course");
+    public EnrollmentAdmissionResult enrollCourse(String studentNo, String courseCode) {
+        // 0. DB 저장 단계가 포화 상태면 (SHED 정책) 좌석을 잡기 전에 거절
+        if (enrollmentDbWriterService.isOverloaded()) {
+            throw new ServiceOverloadedException("Enrollment service is busy, please retry shortly",
+                    Math.max(1, enrollmentDbWriterService.getRetryBackoffMs() / 1000));
         }
 
-        // 2. Redis에서 캐시된 최대 수강 인원 정보 조회
-        String maxStuKey = "course:max_stu:" + courseCode;
-        String maxStuStr = (String) redisTemplate.opsForValue().get(maxStuKey);
-        if (maxStuStr == null) {
-            // 캐시가 없는 경우 (예외적인 상황), DB에서 조회하고 캐시에 저장
-            Course course = courseRepository.findById(courseCode)
-                    .orElseThrow(() -> new EntityNotFoundException("Course not found: " + courseCode));
-            maxStuStr = String.valueOf(course.getMaxStu());
-            redisTemplate.opsForValue().set(maxStuKey, maxStuStr);
+        // 0-1. 같은 학생의 신청을 직렬화한다. 충돌 검사는 enroll.lua 밖에서 하므로, 락이 없으면 같은 학생이
+        //      겹치는 두 강의를 동시에 신청할 때 둘 다 검사를 통과하고 둘 다 좌석을 잡을 수 있다
+        String lockKey = EnrollmentKeys.studentEnrollLock(studentNo);
+        String token = UUID.randomUUID().toString();
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(studentLockMs));
+        if (!Boolean.TRUE.equals(locked)) {
+            throw new EnrollmentException("Another enrollment request for this student is in progress");
+        }
+        EnrollmentAdmissionResult result;
+        try {
+            result = checkAndAdmit(studentNo, courseCode);
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
         }
-        int maxStu = Integer.parseInt(maxStuStr);
 
+        switch (result) {
+            case ALREADY_ENROLLED:
+                throw new EnrollmentException("Already enrolled in this course");
+            case COURSE_FULL:
+                throw new EnrollmentException("Course is full");
+            case CAPACITY_UNKNOWN:
+                throw new EnrollmentException("Course capacity is not available");
+            default:
+                break;
+        }
 
-        // 3. Redis INCR을 이용한 원자적 인원 증가 및 정원 확인
-        String countKey = "course:count:" + courseCode;
-        Long currentStudents = redisTemplate.opsForValue().increment(countKey);
+        // 2. DB 저장은 EnrollmentDbWriterService 가 스트림에서 묶음 단위로 처리
+        //    (WAITLISTED 는 좌석이 반환될 때 cancel.lua 가 자동으로 승격시킨다)
+        return result;
+    }
 
-        if (currentStudents != null && currentStudents > maxStu) {
-            // 정원 초과 시, 카운터 원복 및 예외 발생
-            redisTemplate.opsForValue().decrement(countKey);
-            throw new EnrollmentException("Course is full");
+    private EnrollmentAdmissionResult checkAndAdmit(String studentNo, String courseCode) {
+        // 1. 이미 신청했거나 대기 중인 강의와 시간이 겹치면 거절 (메모리 시간표 색인으로 비트셋 비교만 수행)
+        // 대기 중인 강의는 좌석이 나면 cancel.lua 가 검사 없이 승격시키므로 신청한 강의와 똑같이 취급한다
+        List<String> courseCodes = new ArrayList<>(getEnrolledCourseCodes(studentNo));
+        courseCodes.addAll(getWaitlistedCourseCodes(studentNo));
+        timetableService.findCourseConflict(courseCodes, courseCode).ifPresent(conflict -> {
+            throw new EnrollmentException("Schedule conflicts with course " + conflict);
+        });
+
+        // 1-1. Lua 스크립트로 중복 확인, 정원 확인, 인원 증가, Set 추가, DB 저장 스트림 적재를 한 번의 왕복으로 원자 처리
+        EnrollmentAdmissionResult result = admit(studentNo, courseCode);
+
+        if (result == EnrollmentAdmissionResult.CAPACITY_UNKNOWN) {
+            // 캐시가 없는 경우 (예외적인 상황), DB에서 조회하고 캐시에 저장한 뒤 한 번 더 시도
+            // (수강생 Set 과 카운터도 함께 유실됐을 수 있으므로 DB 수강생으로 먼저 채운다)
+            Course course = courseRepository.findById(courseCode)
+                    .orElseThrow(() -> new EntityNotFoundException("Course not found: " + courseCode));
+            courseCacheService.seedEnrollments(courseCode);
+            redisTemplate.opsForValue().setIfAbsent(EnrollmentKeys.maxStu(courseCode), String.valueOf(course.getMaxStu()));
+            result = admit(studentNo, courseCode);
         }
+        return result;
+    }
 
-        // 4. Redis Set에 학생 추가
-        redisTemplate.opsForSet().add(enrollmentKey, (String) studentNo);
+    /**
+     * 학생이 신청한 강의 코드. Redis student:courses Set 을 사용한다 (DB 저장 전인 신청도 포함).
+     * Set 은 신청/승격 때마다 조금씩 채워지므로 비어 있지 않다고 전체라는 보장이 없다.
+     * 적재 완료 표시(student:courses:loaded)가 없으면 (처음 조회하거나 캐시 유실) DB 내역을 Set 에 합친 뒤 사용한다.
+     */
+    private Collection<String> getEnrolledCourseCodes(String studentNo) {
+        String setKey = EnrollmentKeys.studentCourses(studentNo);
+        String loadedKey = EnrollmentKeys.studentCoursesLoaded(studentNo);
+        Collection<?> members;
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(loadedKey))) {
+            members = redisTemplate.opsForSet().members(setKey);
+        } else {
+            List<String> stored = enrollmentRepository.findCourseCodesByStudentNo(studentNo);
+            Object[] args = new Object[stored.size() + 1];
+            args[0] = studentNo;
+            for (int i = 0; i < stored.size(); i++) {
+                args[i + 1] = stored.get(i);
+            }
+            members = redisTemplate.execute(STUDENT_COURSES_SEED_SCRIPT,
+                    List.of(setKey, loadedKey, EnrollmentKeys.pendingCancels()), args);
+        }
+        if (members == null) {
+            return enrollmentRepository.findCourseCodesByStudentNo(studentNo);
+        }
+        List<String> courseCodes = new ArrayList<>(members.size());
+        for (Object member : members) {
+            courseCodes.add(member.toString());
+        }
+        return courseCodes;
+    }
 
-        // 5. DB 저장을 비동기로 처리하여 사용자 응답 속도 향상
-        Course course = new Course();
-        course.setCourseCode(courseCode);
-        saveEnrollmentAsync(studentNo, course);
+    /**
+     * 학생이 대기 중인 강의 코드. student:waitlists Set 에서 대기열에 실제로 남아 있는 강의만 돌려주고,
+     * 승격 때 건너뛰어졌거나 강의 삭제로 대기열이 사라진 항목은 이 기회에 Set 에서 지운다.
+     */
+    private List<String> getWaitlistedCourseCodes(String studentNo) {
+        String setKey = EnrollmentKeys.studentWaitlists(studentNo);
+        Collection<Object> members = redisTemplate.opsForSet().members(setKey);
+        List<String> courseCodes = new ArrayList<>();
+        if (members == null) {
+            return courseCodes;
+        }
+        for (Object member : members) {
+            String courseCode = member.toString();
+            if (redisTemplate.opsForZSet().score(EnrollmentKeys.waitlist(courseCode), studentNo) != null) {
+                courseCodes.add(courseCode);
+            } else {
+                redisTemplate.opsForSet().remove(setKey, courseCode);
+            }
+        }
+        return courseCodes;
     }
 
-    @Async("enrollmentExecutor")
-    @Transactional
-    public void saveEnrollmentAsync(String studentNo, Course course) {
-        Member student = memberRepository.findByMemberNo(studentNo)
-                .orElseThrow(() -> new EntityNotFoundException("Student not found: " + studentNo));
-
-        Enrollment enrollment = new Enrollment();
-        enrollment.setStudent(student);
-        enrollment.setCourse(course);
-        enrollment.setEnrollmentDate(Date.from(Instant.now()));
-        enrollment.setEnrollmentStatus("ENROLLED");
-        enrollmentRepository.save(enrollment);
+    private EnrollmentAdmissionResult admit(String studentNo, String courseCode) {
+        Long code = redisTemplate.execute(
+                ENROLL_SCRIPT,
+                List.of(EnrollmentKeys.enrollment(courseCode), EnrollmentKeys.maxStu(courseCode), EnrollmentKeys.count(courseCode),
+                        EnrollmentDbWriterService.STREAM_KEY, EnrollmentKeys.waitlist(courseCode), EnrollmentKeys.waitlistMax(courseCode),
+                        EnrollmentKeys.studentCourses(studentNo), EnrollmentKeys.studentWaitlists(studentNo)),
+                studentNo, courseCode, String.valueOf(System.currentTimeMillis()));
+        return EnrollmentAdmissionResult.fromCode(code);
     }
 
-    @Transactional
     public void cancelEnrollment(String studentNo, String courseCode) {
-        Enrollment enrollment = enrollmentRepository.findByStudent_MemberNoAndCourse_CourseCode(studentNo, courseCode)
-                .orElseThrow(() -> new EntityNotFoundException("Enrollment not found for student " + studentNo + " in course " + courseCode));
+        // 1. Lua 스크립트로 Set 제거, 좌석 반환(또는 대기자 승격), DB 삭제 스트림 적재를 원자 처리
+        String promoted = redisTemplate.execute(
+                CANCEL_SCRIPT,
+                List.of(EnrollmentKeys.enrollment(courseCode), EnrollmentKeys.count(courseCode),
+                        EnrollmentKeys.waitlist(courseCode), EnrollmentDbWriterService.STREAM_KEY,
+                        EnrollmentKeys.studentCourses(studentNo), EnrollmentKeys.pendingCancels()),
+                studentNo, courseCode, String.valueOf(System.currentTimeMillis()));
+        if (promoted != null) {
+            if (!promoted.isEmpty()) {
+                // 대기열에서 승격된 학생의 신청/대기 강의 Set 갱신 (스크립트 KEYS 로 미리 알 수 없는 키)
+                redisTemplate.opsForSet().add(EnrollmentKeys.studentCourses(promoted), courseCode);
+                redisTemplate.opsForSet().remove(EnrollmentKeys.studentWaitlists(promoted), courseCode);
+            }
+            return;
+        }
 
-        enrollmentRepository.delete(enrollment);
+        // 2. Redis 에 신청 내역이 없는 경우 (캐시 유실 등) DB 기준으로 확인 후 삭제만 요청
+        if (!enrollmentRepository.existsByStudent_MemberNoAndCourse_CourseCode(studentNo, courseCode)) {
+            throw new EntityNotFoundException("Enrollment not found for student " + studentNo + " in course " + courseCode);
+        }
+        enrollmentDbWriterService.enqueue(EnrollmentDbWriterService.OP_CANCEL, studentNo, courseCode);
+    }
+
+    /**
+     * 대기 순번 (1부터 시작). 대기열에 없으면 null.
+     */
+    public Long getWaitlistPosition(String studentNo, String courseCode) {
+        Long rank = redisTemplate.opsForZSet().rank(EnrollmentKeys.waitlist(courseCode), studentNo);
+        return rank != null ? rank + 1 : null;
+    }
+
+    public Long getWaitlistSize(String courseCode) {
+        Long size = redisTemplate.opsForZSet().zCard(EnrollmentKeys.waitlist(courseCode));
+        return size != null ? size : 0L;
+    }
+
+    public void leaveWaitlist(String studentNo, String courseCode) {
+        Long removed = redisTemplate.opsForZSet().remove(EnrollmentKeys.waitlist(courseCode), studentNo);
+        if (removed == null || removed == 0) {
+            throw new EntityNotFoundException("Waitlist entry not found for student " + studentNo + " in course " + courseCode);
+        }
+        redisTemplate.opsForSet().remove(EnrollmentKeys.studentWaitlists(studentNo), courseCode);
     }
 
-    public List<Enrollment> getEnrollmentsByStudent(String studentNo) {
-        return enrollmentRepository.findByStudent_MemberNo(studentNo);
+    public List<EnrollmentRowDTO> getEnrollmentsByStudent(String studentNo) {
+        return enrollmentRepository.findRowsByStudentNo(studentNo);
     }
 }
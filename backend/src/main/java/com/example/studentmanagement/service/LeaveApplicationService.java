@@ -2,16 +2,22 @@ package com.example.studentmanagement.service;
 
 import com.example.studentmanagement.beans.LeaveApplication;
 import com.example.studentmanagement.beans.Member;
+import com.example.studentmanagement.dto.CursorPageDTO;
 import com.example.studentmanagement.dto.LeaveApplicationDTO;
 import com.example.studentmanagement.repository.LeaveApplicationRepository;
 import com.example.studentmanagement.repository.MemberRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class LeaveApplicationService {
@@ -19,6 +25,9 @@ public class LeaveApplicationService {
     private final LeaveApplicationRepository leaveApplicationRepository;
     private final MemberRepository memberRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public LeaveApplicationService(LeaveApplicationRepository leaveApplicationRepository, MemberRepository memberRepository) {
         this.leaveApplicationRepository = leaveApplicationRepository;
         this.memberRepository = memberRepository;
@@ -32,6 +41,37 @@ public class LeaveApplicationService {
                 .collect(Collectors.toList());
     }
 
+    // 휴학 신청 커서 페이지 조회 (applicationId 순)
+    public CursorPageDTO<LeaveApplicationDTO> getApplicationsPage(Integer after, int size, boolean includeTotal) {
+        List<LeaveApplicationDTO> window = leaveApplicationRepository
+                .findByApplicationIdGreaterThanOrderByApplicationIdAsc(after != null ? after : 0, PageRequest.of(0, size + 1))
+                .stream()
+                .map(app -> new LeaveApplicationDTO(app, getStudentName(app), getApproverName(app)))
+                .collect(Collectors.toList());
+        return CursorPageDTO.of(window, size, LeaveApplicationDTO::getApplicationId,
+                includeTotal ? leaveApplicationRepository.count() : null);
+    }
+
+    /**
+     * 전체 휴학 신청을 applicationId 순으로 한 건씩 consumer 에 넘긴다 (내보내기용).
+     * 처리한 엔티티는 바로 detach 해서 영속성 컨텍스트가 행 수만큼 커지지 않게 한다.
+     */
+    @Transactional(readOnly = true)
+    public void exportApplications(Consumer<LeaveApplicationDTO> consumer) {
+        try (Stream<LeaveApplication> applications = leaveApplicationRepository.streamAllForExport()) {
+            applications.forEach(app -> {
+                consumer.accept(new LeaveApplicationDTO(app, getStudentName(app), getApproverName(app)));
+                entityManager.detach(app);
+                if (app.getStudent() != null) {
+                    entityManager.detach(app.getStudent());
+                }
+                if (app.getApprover() != null) {
+                    entityManager.detach(app.getApprover());
+                }
+            });
+        }
+    }
+
     // ID로 조회
     public LeaveApplicationDTO getApplicationById(Integer applicationId) {
         LeaveApplication application = leaveApplicationRepository.findById(applicationId)
@@ -1,31 +1,161 @@
 package com.example.studentmanagement.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
 
+/**
+ * refresh token 저장소.
+ * 로그인마다 세션(토큰 계열) 하나를 만들고 토큰은 "세션ID.비밀값" 형태로 발급한다. 회원당 세션 수 제한은 없다.
+ * Redis 에는 auth:refresh:{sessionId} 해시에 회원 ID 와 현재/직전 토큰의 해시만 저장한다 (원본 토큰은 저장하지 않음).
+ * 교체는 Lua 스크립트 한 번으로 "현재 토큰과 같으면 새 토큰으로 바꾼다" 를 원자적으로 처리하므로
+ * 두 탭이 동시에 교체를 요청해도 한쪽만 성공한다. 직전 토큰이 reuse-grace-seconds 안에 다시 오면 동시 요청으로 보고 거절만 하고,
+ * 그보다 늦게 예전 토큰이 쓰이면 탈취된 것으로 보고 세션 전체를 폐기한다.
+ * 세션은 idle-timeout-seconds 동안 교체가 없으면 키 TTL 로 사라지고, 교체해도 absolute-ttl-seconds 를 넘기지 못한다.
+ * 발급/교체/폐기 모두 세션 키 하나에 대한 O(1) 호출이다.
+ */
 @Service
 public class RefreshTokenService {
 
-    @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
+    private static final String KEY_PREFIX = "auth:refresh:";
 
-    @Async("threadPoolTaskExecutor")
-    public void saveRefreshToken(String memberId, String refreshToken, long validityMs) {
-        redisTemplate.opsForValue().set(
-                memberId,
-                refreshToken,
-                validityMs,
-                TimeUnit.MILLISECONDS
-        );
+    private static final RedisScript<Long> ISSUE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh_issue.lua"), Long.class);
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ROTATE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/refresh_rotate.lua"), List.class);
+
+    public enum Status {
+        ROTATED, INVALID, CONCURRENT, REUSED
+    }
+
+    /** 교체 결과. ROTATED 일 때만 refreshToken 이 새 토큰이다 */
+    public record Rotation(Status status, String memberId, String refreshToken) {
+    }
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final SecureRandom random = new SecureRandom();
+    private final Counter reuseDetected;
+
+    @Value("${auth.refresh.absolute-ttl-seconds:604800}")
+    private long absoluteTtlSeconds;
+
+    @Value("${auth.refresh.idle-timeout-seconds:86400}")
+    private long idleTimeoutSeconds;
+
+    @Value("${auth.refresh.reuse-grace-seconds:10}")
+    private long reuseGraceSeconds;
+
+    public RefreshTokenService(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.reuseDetected = Counter.builder("auth.refresh.reuse")
+                .description("Refresh token families revoked because an already rotated token was reused")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 세션을 만들고 첫 refresh token 을 반환한다 (로그인 시).
+     */
+    public String issue(String memberId) {
+        String sessionId = UUID.randomUUID().toString();
+        String secret = newSecret();
+        long absoluteMs = absoluteTtlSeconds * 1000;
+        redisTemplate.execute(ISSUE_SCRIPT, List.of(KEY_PREFIX + sessionId),
+                memberId, hash(secret), String.valueOf(System.currentTimeMillis() + absoluteMs),
+                String.valueOf(Math.min(idleTimeoutSeconds * 1000, absoluteMs)));
+        return sessionId + "." + secret;
+    }
+
+    /**
+     * 제시된 refresh token 이 세션의 현재 토큰이면 새 토큰으로 교체한다.
+     */
+    public Rotation rotate(String refreshToken) {
+        String[] parts = split(refreshToken);
+        if (parts == null) {
+            return new Rotation(Status.INVALID, null, null);
+        }
+        String secret = newSecret();
+        List<?> result = redisTemplate.execute(ROTATE_SCRIPT, List.of(KEY_PREFIX + parts[0]),
+                hash(parts[1]), hash(secret), String.valueOf(System.currentTimeMillis()),
+                String.valueOf(idleTimeoutSeconds * 1000), String.valueOf(reuseGraceSeconds * 1000));
+        if (result == null || result.size() < 2) {
+            return new Rotation(Status.INVALID, null, null);
+        }
+        String memberId = String.valueOf(result.get(1));
+        switch (String.valueOf(result.get(0))) {
+            case "0":
+                return new Rotation(Status.ROTATED, memberId, parts[0] + "." + secret);
+            case "2":
+                return new Rotation(Status.CONCURRENT, memberId, null);
+            case "3":
+                reuseDetected.increment();
+                System.err.println("Refresh token reuse detected, session revoked: member=" + memberId);
+                return new Rotation(Status.REUSED, memberId, null);
+            default:
+                return new Rotation(Status.INVALID, null, null);
+        }
+    }
+
+    /**
+     * 세션을 폐기한다 (로그아웃 시). 세션의 현재 또는 직전 토큰일 때만 지운다.
+     */
+    public void revoke(String refreshToken) {
+        String[] parts = split(refreshToken);
+        if (parts == null) {
+            return;
+        }
+        String key = KEY_PREFIX + parts[0];
+        List<Object> tokens = redisTemplate.opsForHash().multiGet(key, List.of("current", "previous"));
+        String presented = hash(parts[1]);
+        if (tokens != null && tokens.contains(presented)) {
+            redisTemplate.delete(key);
+        }
     }
 
     @Scheduled(fixedRate = 600000) // 10분마다 실행
     public void saveRedisData() {
         redisTemplate.getConnectionFactory().getConnection().bgSave();
     }
+
+    // "세션ID.비밀값" 분리. 형식이 맞지 않으면 null
+    private static String[] split(String refreshToken) {
+        if (refreshToken == null) {
+            return null;
+        }
+        int dot = refreshToken.indexOf('.');
+        if (dot <= 0 || dot == refreshToken.length() - 1) {
+            return null;
+        }
+        return new String[]{refreshToken.substring(0, dot), refreshToken.substring(dot + 1)};
+    }
+
+    private String newSecret() {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String hash(String secret) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
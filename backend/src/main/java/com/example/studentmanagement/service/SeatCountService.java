@@ -0,0 +1,72 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.dto.CourseEnrollmentCountDTO;
+import com.example.studentmanagement.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 강의 목록 화면용 수강 인원 일괄 조회.
+ * Redis course:count 카운터를 MGET 한 번으로 읽고, 캐시에 없는 강의만 GROUP BY 쿼리 한 번으로 DB 에서 집계한다.
+ */
+@Service
+public class SeatCountService {
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    public SeatCountService(EnrollmentRepository enrollmentRepository, @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.redisTemplate = redisTemplate;
+    }
+
+    public Map<String, Integer> getSeatCounts(Collection<String> courseCodes) {
+        Map<String, Integer> counts = new HashMap<>();
+        if (courseCodes.isEmpty()) {
+            return counts;
+        }
+
+        List<String> codes = new ArrayList<>(courseCodes);
+        List<String> keys = new ArrayList<>(codes.size());
+        for (String courseCode : codes) {
+            keys.add(EnrollmentKeys.count(courseCode));
+        }
+
+        List<String> misses = new ArrayList<>();
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; i < codes.size(); i++) {
+                Object value = values != null ? values.get(i) : null;
+                if (value != null) {
+                    counts.put(codes.get(i), Integer.parseInt(value.toString()));
+                } else {
+                    misses.add(codes.get(i));
+                }
+            }
+        } catch (Exception e) {
+            // Redis 장애 시에도 목록 화면은 DB 집계로 동작
+            misses = codes;
+        }
+
+        if (!misses.isEmpty()) {
+            for (String courseCode : misses) {
+                counts.put(courseCode, 0);
+            }
+            for (CourseEnrollmentCountDTO row : enrollmentRepository.countByCourseCodes(misses)) {
+                counts.put(row.getCourseCode(), row.getEnrolled().intValue());
+            }
+        }
+        return counts;
+    }
+
+    public int getSeatCount(String courseCode) {
+        return getSeatCounts(List.of(courseCode)).getOrDefault(courseCode, 0);
+    }
+}
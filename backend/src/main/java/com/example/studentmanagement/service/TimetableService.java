@@ -0,0 +1,278 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.beans.Course;
+import com.example.studentmanagement.beans.CourseSchedule;
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시간표 충돌 검사.
+ * 강의별 주간 시간 비트셋(WeekMask)과, 교수/강의실별로 담당 강의 비트셋을 합친 비트셋을 메모리에 유지한다.
+ * 충돌 여부는 비트셋 AND 한 번으로 판단하므로 강의 수와 무관하게 일정한 시간에 끝나고,
+ * 충돌이 있을 때만 해당 교수/강의실의 강의를 훑어 어떤 강의와 겹치는지 찾는다.
+ * 강의실별 비트셋은 강의실 사용 현황(빈 강의실 조회) API 에도 그대로 쓴다.
+ * 색인은 CourseCatalogService 가 카탈로그 스냅샷을 갱신할 때 함께 갱신한다.
+ * 첫 전체 색인(reindex)이 끝나기 전에는 비어 있는 색인이 "충돌 없음/모두 비어 있음" 으로 답하지 않도록
+ * 조회를 503 으로 거절한다 (기동 직후 비동기 적재 중이거나 적재가 실패한 경우).
+ */
+@Service
+public class TimetableService {
+
+    /** 검사할 수업 시간 한 칸 (요일 1=월 ~ 7=일) */
+    public record TimeBlock(int dayOfWeek, LocalTime startTime, LocalTime endTime) {
+    }
+
+    /** 색인할 강의 한 건 (강의코드, 담당 교수, 강의실, 수업 시간) */
+    public record CourseTimes(String courseCode, String professorNo, String classroom, List<TimeBlock> blocks) {
+
+        public static CourseTimes of(Course course) {
+            List<TimeBlock> blocks = new ArrayList<>();
+            if (course.getCourseSchedules() != null) {
+                for (CourseSchedule schedule : course.getCourseSchedules()) {
+                    blocks.add(new TimeBlock(schedule.getDayOfWeek(), schedule.getStartTime(), schedule.getEndTime()));
+                }
+            }
+            String professorNo = course.getProfessor() != null ? course.getProfessor().getMemberNo() : null;
+            return new CourseTimes(course.getCourseCode(), professorNo, course.getClassroom(), blocks);
+        }
+    }
+
+    private record CourseSlot(String professorNo, String room, WeekMask mask) {
+    }
+
+    private record Owner(Set<String> courseCodes, WeekMask mask) {
+    }
+
+    private static final class State {
+        private final Map<String, CourseSlot> courses = new ConcurrentHashMap<>();
+        private final Map<String, Owner> professors = new ConcurrentHashMap<>();
+        private final Map<String, Owner> rooms = new ConcurrentHashMap<>();
+        // 강의실 키 -> 화면 표시용 강의실 이름
+        private final Map<String, String> roomNames = new ConcurrentHashMap<>();
+    }
+
+    private static final long NOT_LOADED_RETRY_AFTER_SECONDS = 5;
+
+    // 전체 재색인 시에는 새 State 를 만들어 통째로 교체한다
+    private volatile State state = new State();
+    // 전체 색인이 한 번이라도 끝났는지 (그 전의 State 는 일부 강의만 있거나 비어 있음)
+    private volatile boolean loaded;
+
+    // ---- 색인 갱신 ----
+
+    public synchronized void reindex(Collection<CourseTimes> courses) {
+        State next = new State();
+        for (CourseTimes course : courses) {
+            put(next, course);
+        }
+        state = next;
+        loaded = true;
+    }
+
+    // 조회용 State. 아직 전체 색인 전이면 잘못된 "충돌 없음" 대신 일시적 거절 (클라이언트는 재시도)
+    private State loadedState() {
+        if (!loaded) {
+            throw new ServiceOverloadedException("Timetable index is still loading, please retry shortly",
+                    NOT_LOADED_RETRY_AFTER_SECONDS);
+        }
+        return state;
+    }
+
+    public synchronized void index(CourseTimes course) {
+        State current = state;
+        removeFrom(current, course.courseCode());
+        put(current, course);
+    }
+
+    public synchronized void remove(String courseCode) {
+        removeFrom(state, courseCode);
+    }
+
+    private static void put(State target, CourseTimes course) {
+        String professorNo = course.professorNo();
+        String room = roomKey(course.classroom());
+        WeekMask.Builder builder = WeekMask.builder();
+        for (TimeBlock block : course.blocks()) {
+            // 잘못 저장된 시간표 행 하나 때문에 전체 색인이 실패하지 않도록 건너뛴다
+            if (isValid(block)) {
+                builder.add(block.dayOfWeek(), block.startTime(), block.endTime());
+            }
+        }
+        CourseSlot slot = new CourseSlot(professorNo, room, builder.build());
+        target.courses.put(course.courseCode(), slot);
+        if (professorNo != null) {
+            addToOwner(target, target.professors, professorNo, course.courseCode());
+        }
+        if (room != null) {
+            addToOwner(target, target.rooms, room, course.courseCode());
+            target.roomNames.put(room, course.classroom().trim());
+        }
+    }
+
+    private static void removeFrom(State target, String courseCode) {
+        CourseSlot slot = target.courses.remove(courseCode);
+        if (slot == null) {
+            return;
+        }
+        if (slot.professorNo() != null) {
+            removeFromOwner(target, target.professors, slot.professorNo(), courseCode);
+        }
+        if (slot.room() != null) {
+            removeFromOwner(target, target.rooms, slot.room(), courseCode);
+            if (!target.rooms.containsKey(slot.room())) {
+                target.roomNames.remove(slot.room());
+            }
+        }
+    }
+
+    private static void addToOwner(State target, Map<String, Owner> owners, String key, String courseCode) {
+        Owner owner = owners.get(key);
+        Set<String> codes = owner != null ? new HashSet<>(owner.courseCodes()) : new HashSet<>();
+        codes.add(courseCode);
+        owners.put(key, new Owner(Set.copyOf(codes), union(target, codes)));
+    }
+
+    private static void removeFromOwner(State target, Map<String, Owner> owners, String key, String courseCode) {
+        Owner owner = owners.get(key);
+        if (owner == null) {
+            return;
+        }
+        Set<String> codes = new HashSet<>(owner.courseCodes());
+        codes.remove(courseCode);
+        if (codes.isEmpty()) {
+            owners.remove(key);
+        } else {
+            owners.put(key, new Owner(Set.copyOf(codes), union(target, codes)));
+        }
+    }
+
+    private static WeekMask union(State target, Collection<String> courseCodes) {
+        WeekMask.Builder builder = WeekMask.builder();
+        for (String courseCode : courseCodes) {
+            CourseSlot slot = target.courses.get(courseCode);
+            if (slot != null) {
+                builder.or(slot.mask());
+            }
+        }
+        return builder.build();
+    }
+
+    // ---- 충돌 검사 (충돌하는 강의 코드를 반환, 없으면 empty) ----
+
+    /**
+     * 교수의 기존 강의와 겹치는지 검사한다. 수정 중인 강의 자신은 excludeCourseCode 로 제외한다.
+     */
+    public Optional<String> findProfessorConflict(String professorNo, List<TimeBlock> blocks, String excludeCourseCode) {
+        State current = loadedState();
+        return findOwnerConflict(current, current.professors.get(professorNo), toMask(blocks), excludeCourseCode);
+    }
+
+    /**
+     * 같은 강의실을 쓰는 기존 강의와 겹치는지 검사한다. 강의실 이름은 공백/대소문자를 무시하고 비교한다.
+     */
+    public Optional<String> findRoomConflict(String classroom, List<TimeBlock> blocks, String excludeCourseCode) {
+        State current = loadedState();
+        String room = roomKey(classroom);
+        if (room == null) {
+            return Optional.empty();
+        }
+        return findOwnerConflict(current, current.rooms.get(room), toMask(blocks), excludeCourseCode);
+    }
+
+    /**
+     * 강의 시간표에 한 번이라도 등장한 강의실 목록 (이름순).
+     */
+    public List<String> getRooms() {
+        List<String> rooms = new ArrayList<>(loadedState().roomNames.values());
+        rooms.sort(null);
+        return rooms;
+    }
+
+    /**
+     * blocks 시간에 비어 있는 강의실 목록 (이름순). 강의실마다 합쳐 둔 비트셋 AND 한 번으로 판단한다.
+     */
+    public List<String> findFreeRooms(List<TimeBlock> blocks) {
+        State current = loadedState();
+        WeekMask mask = toMask(blocks);
+        List<String> free = new ArrayList<>();
+        for (Map.Entry<String, Owner> room : current.rooms.entrySet()) {
+            if (!room.getValue().mask().intersects(mask)) {
+                free.add(current.roomNames.getOrDefault(room.getKey(), room.getKey()));
+            }
+        }
+        free.sort(null);
+        return free;
+    }
+
+    /**
+     * 학생이 이미 신청한 강의들과 courseCode 강의가 겹치는지 검사한다 (수강신청 경로에서 사용).
+     * 색인에 없는 강의(삭제된 강의 등)는 무시한다.
+     */
+    public Optional<String> findCourseConflict(Collection<String> enrolledCourseCodes, String courseCode) {
+        State current = loadedState();
+        CourseSlot target = current.courses.get(courseCode);
+        if (target == null) {
+            return Optional.empty();
+        }
+        for (String enrolled : enrolledCourseCodes) {
+            if (enrolled.equals(courseCode)) {
+                continue;
+            }
+            CourseSlot slot = current.courses.get(enrolled);
+            if (slot != null && slot.mask().intersects(target.mask())) {
+                return Optional.of(enrolled);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> findOwnerConflict(State current, Owner owner, WeekMask mask, String excludeCourseCode) {
+        if (owner == null || !owner.mask().intersects(mask)) {
+            return Optional.empty();
+        }
+        for (String courseCode : owner.courseCodes()) {
+            if (courseCode.equals(excludeCourseCode)) {
+                continue;
+            }
+            CourseSlot slot = current.courses.get(courseCode);
+            if (slot != null && slot.mask().intersects(mask)) {
+                return Optional.of(courseCode);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static WeekMask toMask(List<TimeBlock> blocks) {
+        WeekMask.Builder builder = WeekMask.builder();
+        for (TimeBlock block : blocks) {
+            builder.add(block.dayOfWeek(), block.startTime(), block.endTime());
+        }
+        return builder.build();
+    }
+
+    private static boolean isValid(TimeBlock block) {
+        return block.dayOfWeek() >= 1 && block.dayOfWeek() <= 7
+                && block.startTime() != null && block.endTime() != null
+                && block.startTime().isBefore(block.endTime());
+    }
+
+    // 강의실 이름 정규화 (공백 제거, 대문자). 비어 있으면 null
+    static String roomKey(String classroom) {
+        if (classroom == null) {
+            return null;
+        }
+        String key = classroom.replaceAll("\\s+", "").toUpperCase(Locale.ROOT);
+        return key.isEmpty() ? null : key;
+    }
+}
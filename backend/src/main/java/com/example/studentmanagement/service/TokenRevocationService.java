@@ -0,0 +1,168 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.util.AuthPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * access token 폐기 목록.
+ * 폐기된 토큰의 jti 는 Redis 에 토큰 남은 수명만큼만 저장하고, 노드마다 같은 목록을 Bloom filter 로 들고 있는다.
+ * 요청마다 Bloom filter 만 확인하므로 폐기되지 않은 토큰(대부분의 요청)은 Redis 왕복이 없고,
+ * filter 가 "있을 수 있음" 이라고 답한 경우에만 Redis 에서 실제 폐기 여부를 확인한다.
+ * 새 폐기는 pub/sub 으로 모든 노드의 filter 에 추가하고, 놓친 알림과 만료된 항목은
+ * rebuild-interval-ms 마다 Redis 목록에서 filter 를 새로 만들어 정리한다.
+ */
+@Service
+public class TokenRevocationService implements MessageListener {
+
+    public static final String CHANNEL = "auth:revoked";
+
+    private static final String KEY_PREFIX = "auth:revoked:";
+    private static final String INDEX_KEY = "auth:revoked:index";
+
+    private static final RedisScript<Long> REVOKE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token_revoke.lua"), Long.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final Counter lookups;
+    private final Counter rejected;
+
+    @Value("${auth.revocation.expected-size:100000}")
+    private int expectedSize;
+
+    @Value("${auth.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    // 재적재 중에 도착한 폐기 알림은 새로 만드는 filter 에도 넣는다 (Redis 목록을 읽은 뒤 폐기된 토큰이 빠지지 않도록)
+    private volatile BloomFilter rebuilding;
+
+    public TokenRevocationService(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate,
+                                  RedisMessageListenerContainer listenerContainer,
+                                  MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.lookups = Counter.builder("auth.revocation.lookup")
+                .description("Bloom filter hits that required a Redis revocation lookup")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.revocation.rejected")
+                .description("Requests rejected because the access token was revoked")
+                .register(meterRegistry);
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuildSafely();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval-ms:60000}",
+            initialDelayString = "${auth.revocation.rebuild-interval-ms:60000}")
+    public void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            System.err.println("Token revocation filter rebuild failed: " + e.getMessage());
+        }
+    }
+
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        Long count = redisTemplate.opsForZSet().count(INDEX_KEY, now, Double.POSITIVE_INFINITY);
+        int size = (int) Math.max(expectedSize, count != null ? count * 2 : 0);
+        BloomFilter next = new BloomFilter(size, falsePositiveRate);
+        rebuilding = next;
+        try {
+            Set<Object> tokenIds = redisTemplate.opsForZSet().rangeByScore(INDEX_KEY, now, Double.POSITIVE_INFINITY);
+            if (tokenIds != null) {
+                for (Object tokenId : tokenIds) {
+                    next.add(String.valueOf(tokenId));
+                }
+            }
+            filter = next;
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * 토큰을 만료 전에 폐기한다 (로그아웃 등). 모든 노드에 알려서 이후 요청부터 거부된다.
+     */
+    public void revoke(AuthPrincipal principal) {
+        if (principal == null || principal.tokenId() == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (principal.expiresAt() <= now) {
+            return;
+        }
+        redisTemplate.execute(REVOKE_SCRIPT, List.of(KEY_PREFIX + principal.tokenId(), INDEX_KEY),
+                principal.tokenId(), String.valueOf(principal.expiresAt()), String.valueOf(now));
+        // 알림이 돌아오기 전에도 이 노드에서는 바로 거부되도록 먼저 넣어 둔다
+        addLocally(principal.tokenId());
+        try {
+            redisTemplate.convertAndSend(CHANNEL, principal.tokenId());
+        } catch (Exception e) {
+            // 다른 노드는 다음 재적재 때 반영된다
+            System.err.println("Token revocation publish failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 폐기된 토큰이면 true. jti 가 없는 토큰(도입 전 발급분)은 확인할 수 없으므로 false.
+     * 기동 후 목록을 아직 한 번도 읽지 못했으면 (Redis 장애 등) 다음 재적재까지는 확인하지 않는다.
+     */
+    public boolean isRevoked(AuthPrincipal principal) {
+        String tokenId = principal.tokenId();
+        BloomFilter current = filter;
+        if (tokenId == null || current == null || !current.mightContain(tokenId)) {
+            return false;
+        }
+        lookups.increment();
+        boolean revoked;
+        try {
+            revoked = Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+        } catch (Exception e) {
+            // filter 에 있는 토큰은 폐기됐을 가능성이 높으므로 확인할 수 없으면 거부한다
+            System.err.println("Token revocation lookup failed: " + e.getMessage());
+            revoked = true;
+        }
+        if (revoked) {
+            rejected.increment();
+        }
+        return revoked;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        addLocally(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void addLocally(String tokenId) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(tokenId);
+        }
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(tokenId);
+        }
+    }
+}
@@ -4,18 +4,24 @@ import com.example.studentmanagement.beans.Member;
 import com.example.studentmanagement.beans.StudentMember;
 import com.example.studentmanagement.beans.Tuition;
 import com.example.studentmanagement.dto.BatchTuitionRequestDTO;
+import com.example.studentmanagement.dto.CursorPageDTO;
 import com.example.studentmanagement.dto.StudentTuitionStatusDTO;
 import com.example.studentmanagement.dto.TuitionDTO;
 import com.example.studentmanagement.repository.MemberRepository;
 import com.example.studentmanagement.repository.TuitionRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class TuitionService {
@@ -23,6 +29,9 @@ public class TuitionService {
     private final TuitionRepository tuitionRepository;
     private final MemberRepository memberRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public TuitionService(TuitionRepository tuitionRepository, MemberRepository memberRepository) {
         this.tuitionRepository = tuitionRepository;
         this.memberRepository = memberRepository;
@@ -36,6 +45,33 @@ public class TuitionService {
                 .collect(Collectors.toList());
     }
 
+    // 등록금 커서 페이지 조회 (tuitionId 순)
+    public CursorPageDTO<TuitionDTO> getTuitionsPage(Integer after, int size, boolean includeTotal) {
+        List<TuitionDTO> window = tuitionRepository
+                .findByTuitionIdGreaterThanOrderByTuitionIdAsc(after != null ? after : 0, PageRequest.of(0, size + 1))
+                .stream()
+                .map(tuition -> new TuitionDTO(tuition, getStudentName(tuition)))
+                .collect(Collectors.toList());
+        return CursorPageDTO.of(window, size, TuitionDTO::getTuitionId, includeTotal ? tuitionRepository.count() : null);
+    }
+
+    /**
+     * 전체 등록금을 tuitionId 순으로 한 건씩 consumer 에 넘긴다 (내보내기용).
+     * 처리한 엔티티는 바로 detach 해서 영속성 컨텍스트가 행 수만큼 커지지 않게 한다.
+     */
+    @Transactional(readOnly = true)
+    public void exportTuitions(Consumer<TuitionDTO> consumer) {
+        try (Stream<Tuition> tuitions = tuitionRepository.streamAllForExport()) {
+            tuitions.forEach(tuition -> {
+                consumer.accept(new TuitionDTO(tuition, getStudentName(tuition)));
+                entityManager.detach(tuition);
+                if (tuition.getStudent() != null) {
+                    entityManager.detach(tuition.getStudent());
+                }
+            });
+        }
+    }
+
     // 등록금 ID로 조회
     public TuitionDTO getTuitionById(Integer tuitionId) {
         Tuition tuition = tuitionRepository.findById(tuitionId)
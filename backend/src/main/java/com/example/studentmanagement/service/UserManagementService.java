@@ -3,14 +3,20 @@ package com.example.studentmanagement.service;
 import com.example.studentmanagement.beans.Member;
 import com.example.studentmanagement.beans.StudentMember;
 import com.example.studentmanagement.beans.ProfessorMember;
+import com.example.studentmanagement.dto.CursorPageDTO;
 import com.example.studentmanagement.dto.UserManagementDTO;
 import com.example.studentmanagement.repository.MemberRepository;
 import com.example.studentmanagement.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional(readOnly = true)
@@ -19,6 +25,9 @@ public class UserManagementService {
     private final MemberRepository memberRepository;
     private final DepartmentRepository departmentRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public UserManagementService(MemberRepository memberRepository, DepartmentRepository departmentRepository) {
         this.memberRepository = memberRepository;
         this.departmentRepository = departmentRepository;
@@ -87,6 +96,49 @@ public class UserManagementService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 사용자 커서 페이지 조회 (m_id 순). 필터 조건은 getAllUsers 와 같지만 DB 에서 적용해서 요청한 크기만큼만 읽는다.
+     * 응답의 nextCursor 는 내부 키(m_id)이므로 다음 요청에 그대로 넘기기만 한다.
+     */
+    public CursorPageDTO<UserManagementDTO> getUsersPage(String memberType, String deptCode, Integer stuGrade, String searchName,
+                                                         String after, int size, boolean includeTotal) {
+        String typeFilter = optionFilter(memberType);
+        String deptFilter = optionFilter(deptCode);
+        Integer gradeFilter = stuGrade != null && stuGrade > 0 ? stuGrade : null;
+        String nameFilter = searchName == null || searchName.isEmpty() ? null : searchName;
+
+        List<Member> window = memberRepository.findMembersAfter(after != null ? after : "",
+                typeFilter, deptFilter, gradeFilter, nameFilter, PageRequest.of(0, size + 1));
+        Long total = includeTotal ? memberRepository.countMembers(typeFilter, deptFilter, gradeFilter, nameFilter) : null;
+
+        CursorPageDTO<Member> page = CursorPageDTO.of(window, size, Member::getMemberId, total);
+        return new CursorPageDTO<>(
+                page.getContent().stream().map(this::convertToDTO).collect(Collectors.toList()),
+                page.getNextCursor(),
+                page.getTotalCount());
+    }
+
+    /**
+     * 필터 조건에 맞는 사용자를 m_id 순으로 한 건씩 consumer 에 넘긴다 (내보내기용).
+     * 처리한 엔티티는 바로 detach 해서 영속성 컨텍스트가 행 수만큼 커지지 않게 한다.
+     */
+    public void exportUsers(String memberType, String deptCode, Integer stuGrade, String searchName,
+                            Consumer<UserManagementDTO> consumer) {
+        try (Stream<Member> members = memberRepository.streamMembersForExport(optionFilter(memberType), optionFilter(deptCode),
+                stuGrade != null && stuGrade > 0 ? stuGrade : null,
+                searchName == null || searchName.isEmpty() ? null : searchName)) {
+            members.forEach(member -> {
+                consumer.accept(convertToDTO(member));
+                entityManager.detach(member);
+            });
+        }
+    }
+
+    // 빈 값이나 "ALL" 은 조건 없음(null)으로
+    private static String optionFilter(String value) {
+        return value == null || value.isEmpty() || value.equals("ALL") ? null : value;
+    }
+
     private UserManagementDTO convertToDTO(Member member) {
         UserManagementDTO dto = new UserManagementDTO();
         dto.setMemberNo(member.getMemberNo());
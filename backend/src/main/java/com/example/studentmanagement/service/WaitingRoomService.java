@@ -0,0 +1,113 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 수강신청 오픈 시점의 가상 대기실.
+ * 학생은 번호표를 받고 Redis 만 읽는 상태 API 를 폴링하며, 스케줄러가 지난 시간 x admit-per-second 만큼 입장 번호를 전진시킨다.
+ * 전진량은 Redis 에 저장한 기준 시각으로 계산하므로 스케줄러가 늦게 돌거나 여러 노드가 호출해도 입장 속도가 유지된다.
+ * 입장 번호 이하의 번호표를 가진 학생만 수강신청 API 를 호출할 수 있다.
+ */
+@Service
+public class WaitingRoomService {
+
+    private static final RedisScript<Long> TICKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/waitroom_ticket.lua"), Long.class);
+    private static final RedisScript<Long> ADMIT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/waitroom_admit.lua"), Long.class);
+
+    private static final String SEQ_KEY = "waitroom:seq";
+    private static final String ADMITTED_KEY = "waitroom:admitted";
+    private static final String ADMITTED_AT_KEY = "waitroom:admitted_at";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Value("${waiting-room.enabled:false}")
+    private boolean enabled;
+
+    @Value("${waiting-room.admit-per-second:50}")
+    private int admitPerSecond;
+
+    @Value("${waiting-room.ticket-ttl-seconds:1800}")
+    private long ticketTtlSeconds;
+
+    public WaitingRoomService(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Map<String, Object> issueTicket(String studentNo) {
+        Long ticket = redisTemplate.execute(TICKET_SCRIPT, List.of(ticketKey(studentNo), SEQ_KEY),
+                String.valueOf(ticketTtlSeconds));
+        return getStatus(ticket != null ? ticket : 0L);
+    }
+
+    // 폴링용 상태 조회: Redis GET 한 번으로 처리
+    public Map<String, Object> getStatus(long ticket) {
+        long admitted = admittedUpTo();
+        long ahead = Math.max(0, ticket - admitted);
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("ticket", ticket);
+        status.put("admitted", !enabled || ticket <= admitted);
+        status.put("ahead", ahead);
+        status.put("estimatedWaitSeconds", admitPerSecond > 0 ? (ahead + admitPerSecond - 1) / admitPerSecond : 0);
+        return status;
+    }
+
+    /**
+     * 대기실이 켜져 있으면 입장 허용된 번호표가 있는지 확인하고, 없으면 503 + Retry-After 로 대기실로 돌려보낸다.
+     */
+    public void checkAdmitted(String studentNo) {
+        if (!enabled) {
+            return;
+        }
+        List<Object> values = redisTemplate.opsForValue().multiGet(List.of(ticketKey(studentNo), ADMITTED_KEY));
+        Object ticket = values != null ? values.get(0) : null;
+        Object admitted = values != null ? values.get(1) : null;
+        if (ticket == null) {
+            throw new ServiceOverloadedException("Registration is queued. Please get a waiting-room ticket first", 1);
+        }
+        long ahead = Long.parseLong(ticket.toString()) - (admitted != null ? Long.parseLong(admitted.toString()) : 0L);
+        if (ahead > 0) {
+            throw new ServiceOverloadedException("Not admitted yet. " + ahead + " students ahead",
+                    Math.max(1, ahead / Math.max(1, admitPerSecond)));
+        }
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void admitNext() {
+        if (!enabled || admitPerSecond <= 0) {
+            return;
+        }
+        try {
+            // 지난 호출 이후 경과 시간만큼 전진 (호출이 몰리거나 밀려도 입장 인원이 사라지거나 늘지 않는다)
+            redisTemplate.execute(ADMIT_SCRIPT, List.of(SEQ_KEY, ADMITTED_KEY, ADMITTED_AT_KEY), String.valueOf(admitPerSecond));
+        } catch (Exception e) {
+            System.err.println("Waiting room admission failed: " + e.getMessage());
+        }
+    }
+
+    private long admittedUpTo() {
+        Object admitted = redisTemplate.opsForValue().get(ADMITTED_KEY);
+        return admitted != null ? Long.parseLong(admitted.toString()) : 0L;
+    }
+
+    private static String ticketKey(String studentNo) {
+        return "waitroom:ticket:" + studentNo;
+    }
+}
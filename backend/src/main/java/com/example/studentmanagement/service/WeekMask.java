@@ -0,0 +1,88 @@
+package com.example.studentmanagement.service;
+
+import java.time.LocalTime;
+
+/**
+ * 요일(1~7)별 분 단위 시간 비트셋. 강의 시간표 [start, end) 구간을 비트로 표시한다.
+ * 수업이 없는 요일은 배열을 만들지 않으므로 강의 하나당 수백 바이트 수준이고,
+ * 겹침 검사는 요일당 long 23개 AND 로 끝나 강의/시간표 수와 무관하게 일정하다.
+ * 생성 후에는 변경하지 않는다 (합치기는 새 객체를 만든다).
+ */
+final class WeekMask {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+
+    // days[1] = 월 ... days[7] = 일, 수업 없는 요일은 null
+    private final long[][] days = new long[8][];
+
+    private WeekMask() {
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    static final class Builder {
+        private WeekMask mask = new WeekMask();
+
+        Builder add(int dayOfWeek, LocalTime start, LocalTime end) {
+            if (dayOfWeek < 1 || dayOfWeek > 7) {
+                throw new IllegalArgumentException("dayOfWeek must be between 1 and 7: " + dayOfWeek);
+            }
+            int from = start.getHour() * 60 + start.getMinute();
+            int to = end.getHour() * 60 + end.getMinute();
+            if (to <= from) {
+                throw new IllegalArgumentException("endTime must be after startTime: " + start + "-" + end);
+            }
+            long[] words = mask.days[dayOfWeek];
+            if (words == null) {
+                words = mask.days[dayOfWeek] = new long[WORDS_PER_DAY];
+            }
+            for (int minute = from; minute < to; minute++) {
+                words[minute >>> 6] |= 1L << minute;
+            }
+            return this;
+        }
+
+        Builder or(WeekMask other) {
+            for (int day = 1; day <= 7; day++) {
+                long[] theirs = other.days[day];
+                if (theirs == null) {
+                    continue;
+                }
+                long[] words = mask.days[day];
+                if (words == null) {
+                    mask.days[day] = theirs.clone();
+                } else {
+                    for (int i = 0; i < WORDS_PER_DAY; i++) {
+                        words[i] |= theirs[i];
+                    }
+                }
+            }
+            return this;
+        }
+
+        WeekMask build() {
+            WeekMask built = mask;
+            mask = null;
+            return built;
+        }
+    }
+
+    boolean intersects(WeekMask other) {
+        for (int day = 1; day <= 7; day++) {
+            long[] mine = days[day];
+            long[] theirs = other.days[day];
+            if (mine == null || theirs == null) {
+                continue;
+            }
+            for (int i = 0; i < WORDS_PER_DAY; i++) {
+                if ((mine[i] & theirs[i]) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.studentmanagement.util;
+
+import java.security.Principal;
+
+/**
+ * 검증된 access token 에서 꺼낸 로그인 사용자 정보 (불변).
+ * JwtRequestFilter 가 토큰을 한 번만 파싱해서 만들고 Authentication 의 principal 로 넣는다.
+ * Principal 을 구현하므로 기존 authentication.getName() 은 그대로 로그인 ID 를 반환한다.
+ * 컨트롤러에서는 @AuthenticationPrincipal AuthPrincipal 파라미터로 받아서, 학번/교번을 얻으려고 member 를 다시 조회하지 않는다.
+ * deptCode 는 소속 학과 코드(없으면 null), tokenId 는 토큰의 jti 로 폐기 여부 확인에 쓴다 (jti 도입 전 토큰은 null).
+ * expiresAt 은 토큰 만료 시각(epoch ms)으로 검증 캐시의 유효 기간과 폐기 목록 보관 기간 계산에 쓴다.
+ */
+public record AuthPrincipal(String username, String role, String memberNo, String deptCode, String tokenId, long expiresAt)
+        implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
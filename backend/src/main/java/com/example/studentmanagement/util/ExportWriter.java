@@ -0,0 +1,137 @@
+package com.example.studentmanagement.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 관리자 내보내기용 행 단위 writer.
+ * 전체 목록을 메모리에 만들지 않고 한 행씩 응답 스트림에 JSON 배열 또는 CSV 로 기록한다.
+ */
+public abstract class ExportWriter<T> implements Consumer<T>, Closeable {
+
+    // 이 건수마다 응답 버퍼를 내보낸다
+    private static final int FLUSH_EVERY = 1000;
+
+    private int written = 0;
+
+    protected abstract void writeRow(T row) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    @Override
+    public void accept(T row) {
+        try {
+            writeRow(row);
+            if (++written % FLUSH_EVERY == 0) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String contentType(String format) {
+        return "csv".equalsIgnoreCase(format) ? "text/csv; charset=UTF-8" : "application/json";
+    }
+
+    public static String fileName(String baseName, String format) {
+        return baseName + ("csv".equalsIgnoreCase(format) ? ".csv" : ".json");
+    }
+
+    /**
+     * format 이 csv 이면 CSV, 그 외에는 JSON 배열 writer 를 만든다.
+     */
+    public static <T> ExportWriter<T> of(String format, OutputStream out, ObjectMapper objectMapper,
+                                         List<String> header, Function<T, List<?>> columns) throws IOException {
+        return "csv".equalsIgnoreCase(format) ? new Csv<>(out, header, columns) : new Json<>(out, objectMapper);
+    }
+
+    private static final class Json<T> extends ExportWriter<T> {
+        private final JsonGenerator generator;
+
+        private Json(OutputStream out, ObjectMapper objectMapper) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            generator.writeStartArray();
+        }
+
+        @Override
+        protected void writeRow(T row) throws IOException {
+            generator.writeObject(row);
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeEndArray();
+            generator.close();
+        }
+    }
+
+    private static final class Csv<T> extends ExportWriter<T> {
+        private final Writer writer;
+        private final Function<T, List<?>> columns;
+        private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+
+        private Csv(OutputStream out, List<String> header, Function<T, List<?>> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.columns = columns;
+            // 엑셀에서 한글이 깨지지 않도록 BOM 을 붙인다
+            writer.write('\uFEFF');
+            writeLine(header);
+        }
+
+        @Override
+        protected void writeRow(T row) throws IOException {
+            writeLine(columns.apply(row));
+        }
+
+        private void writeLine(List<?> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values.get(i)));
+            }
+            writer.write("\r\n");
+        }
+
+        private String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value instanceof Date date ? dateFormat.format(date) : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return '"' + text.replace("\"", "\"\"") + '"';
+            }
+            return text;
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.example.studentmanagement.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Idempotency-Key 헤더가 붙은 수강신청/등록금 변경 요청의 첫 응답을 Redis 에 저장해 두고,
+ * 같은 키로 재전송된 요청에는 컨트롤러를 거치지 않고 저장된 응답을 그대로 돌려준다.
+ * 같은 키의 요청이 아직 처리 중이면 409 를 반환한다.
+ * 키마다 요청 본문(쿼리 문자열 포함)의 SHA-256 을 함께 저장해 두고, 같은 키로 다른 본문이 오면
+ * 저장된 응답을 돌려주지 않고 422 를 반환한다 (키를 재사용한 클라이언트 버그가 엉뚱한 결과를 받지 않도록).
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    // 처리 중 표시. 뒤에 본문 해시를 붙여 저장한다
+    private static final String IN_PROGRESS = "IN_PROGRESS:";
+    private static final List<String> PATH_PREFIXES = List.of("/api/enrollments", "/api/admin/tuitions", "/api/student/tuitions");
+    private static final Set<String> METHODS = Set.of("POST", "PUT", "DELETE");
+    // 일시적인 거절은 저장하지 않는다 (재시도하면 결과가 달라질 수 있음)
+    private static final Set<Integer> TRANSIENT_STATUSES = Set.of(408, 429);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${idempotency.lock-seconds:30}")
+    private long lockSeconds;
+
+    public IdempotencyFilter(@Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String key = request.getHeader(HEADER);
+        if (key == null || key.isBlank() || !METHODS.contains(request.getMethod())) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        return PATH_PREFIXES.stream().noneMatch(uri::startsWith);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String redisKey = "idem:" + principal() + ":" + request.getMethod() + ":" + request.getRequestURI()
+                + ":" + request.getHeader(HEADER);
+        // 본문은 한 번만 읽을 수 있으므로 먼저 읽어 해시를 구하고, 컨트롤러에는 읽어 둔 본문을 다시 넘긴다
+        CachedBodyRequest cached = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(request.getQueryString(), cached.body);
+
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(redisKey, IN_PROGRESS + fingerprint, Duration.ofSeconds(lockSeconds));
+        if (!Boolean.TRUE.equals(acquired)) {
+            Object stored = redisTemplate.opsForValue().get(redisKey);
+            if (stored == null) {
+                writeError(response, HttpServletResponse.SC_CONFLICT, "A request with this Idempotency-Key is already in progress");
+                return;
+            }
+            String value = stored.toString();
+            if (value.startsWith(IN_PROGRESS)) {
+                if (!fingerprint.equals(value.substring(IN_PROGRESS.length()))) {
+                    writeMismatch(response);
+                } else {
+                    writeError(response, HttpServletResponse.SC_CONFLICT, "A request with this Idempotency-Key is already in progress");
+                }
+                return;
+            }
+            Map<?, ?> snapshot = objectMapper.readValue(value, Map.class);
+            if (!fingerprint.equals(snapshot.get("fingerprint"))) {
+                writeMismatch(response);
+                return;
+            }
+            replay(snapshot, response);
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(cached, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            redisTemplate.delete(redisKey);
+            throw e;
+        }
+
+        int status = wrapper.getStatus();
+        if (status < 500 && !TRANSIENT_STATUSES.contains(status)) {
+            Map<String, Object> snapshot = new HashMap<>();
+            snapshot.put("status", status);
+            snapshot.put("contentType", wrapper.getContentType());
+            snapshot.put("body", new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8));
+            snapshot.put("fingerprint", fingerprint);
+            redisTemplate.opsForValue().set(redisKey, objectMapper.writeValueAsString(snapshot), Duration.ofHours(ttlHours));
+        } else {
+            // 서버 오류/일시적 거절은 같은 키로 다시 시도할 수 있도록 잠금 해제
+            redisTemplate.delete(redisKey);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void replay(Map<?, ?> snapshot, HttpServletResponse response) throws IOException {
+        response.setStatus(((Number) snapshot.get("status")).intValue());
+        if (snapshot.get("contentType") != null) {
+            response.setContentType(snapshot.get("contentType").toString());
+        }
+        response.setHeader("Idempotent-Replayed", "true");
+        byte[] body = String.valueOf(snapshot.get("body")).getBytes(StandardCharsets.UTF_8);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static void writeMismatch(HttpServletResponse response) throws IOException {
+        writeError(response, 422, "Idempotency-Key was already used with a different request body");
+    }
+
+    private static void writeError(HttpServletResponse response, int status, String message) throws IOException {
+        response.setStatus(status);
+        response.getWriter().write(message);
+    }
+
+    static String fingerprint(String queryString, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (queryString != null) {
+                digest.update(queryString.getBytes(StandardCharsets.UTF_8));
+            }
+            // 쿼리 문자열과 본문의 경계를 구분 ("a=1" + "" 와 "" + "a=1" 이 같은 해시가 되지 않도록)
+            digest.update((byte) 0);
+            digest.update(body);
+            return Base64.getEncoder().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : "anonymous";
+    }
+
+    /**
+     * 미리 읽어 둔 본문을 다시 읽을 수 있게 해 주는 요청 래퍼.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // 본문은 이미 메모리에 있으므로 바로 읽기 가능 -> 읽기 완료를 알린다
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.studentmanagement.util;
 
-import io.jsonwebtoken.Claims;
+import com.example.studentmanagement.service.TokenRevocationService;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.SignatureException;
 import jakarta.servlet.FilterChain;
@@ -21,10 +21,16 @@ import java.util.List;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    private static final String LOGOUT_PATH = "/api/logout";
+
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationService revocationService;
 
-    public JwtRequestFilter(JwtUtil jwtUtil) {
+    public JwtRequestFilter(JwtUtil jwtUtil, VerifiedTokenCache tokenCache, TokenRevocationService revocationService) {
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
+        this.revocationService = revocationService;
     }
 
     @Override
@@ -33,50 +39,64 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        AuthPrincipal principal = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
+            String jwt = authorizationHeader.substring(7);
             try {
-                username = jwtUtil.extractUsername(jwt);
+                // 최근에 검증한 토큰이면 캐시에서, 아니면 서명/만료 검증과 클레임 추출을 파싱 한 번으로 처리
+                principal = tokenCache.get(jwt);
+                if (principal == null) {
+                    principal = jwtUtil.verify(jwt);
+                    tokenCache.put(jwt, principal);
+                }
             } catch (ExpiredJwtException e) {
                 // Handle expired token
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("Access token expired");
+                unauthorized(request, response, chain, "Access token expired");
                 return;
             } catch (SignatureException e) {
                 // Handle signature validation failure
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("Invalid JWT signature");
+                unauthorized(request, response, chain, "Invalid JWT signature");
                 return;
             } catch (Exception e) {
                 // Handle other JWT-related exceptions
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("Invalid token");
+                unauthorized(request, response, chain, "Invalid token");
+                return;
+            }
+            // 폐기 여부는 캐시에서 꺼낸 토큰도 매번 확인한다 (대부분 노드 메모리의 Bloom filter 조회로 끝남)
+            if (revocationService.isRevoked(principal)) {
+                tokenCache.invalidate(jwt);
+                unauthorized(request, response, chain, "Token revoked");
                 return;
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt, username)) {
-                // Extract role from JWT claims
-                Claims claims = jwtUtil.extractAllClaims(jwt);
-                String role = claims.get("role", String.class);
-
-                // Create authorities from role
-                List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                if (role != null && !role.isEmpty()) {
-                    authorities.add(new SimpleGrantedAuthority("ROLE_" + role));
-                }
-
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        username, null, authorities);
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+        if (principal != null && principal.username() != null
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Create authorities from role
+            List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+            if (principal.role() != null && !principal.role().isEmpty()) {
+                authorities.add(new SimpleGrantedAuthority("ROLE_" + principal.role()));
             }
+
+            // principal 로 AuthPrincipal 을 넣어서 요청 처리 중에는 토큰을 다시 파싱하지 않는다
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                    principal, null, authorities);
+            usernamePasswordAuthenticationToken
+                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
         }
         chain.doFilter(request, response);
     }
+
+    // 로그아웃은 access token 이 만료/폐기되었어도 refresh 세션을 지울 수 있어야 하므로 인증 없이 통과시킨다
+    private static void unauthorized(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                                     String message) throws IOException, ServletException {
+        if (LOGOUT_PATH.equals(request.getRequestURI())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.getWriter().write(message);
+    }
 }
@@ -1,12 +1,10 @@
 package com.example.studentmanagement.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.beans.factory.annotation.Autowired;
-import com.example.studentmanagement.service.RefreshTokenService;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
@@ -14,8 +12,6 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
-import java.util.function.Function;
 
 @Component
 public class JwtUtil {
@@ -23,43 +19,34 @@ public class JwtUtil {
     // In a real application, store this in application.properties or environment variables
     private final String SECRET_KEY_STRING = "your-256-bit-secret-your-256-bit-secret"; 
     private final Key SECRET_KEY = Keys.hmacShaKeyFor(SECRET_KEY_STRING.getBytes());
+    // JwtParser 는 불변이고 스레드 안전하므로 한 번만 만든다
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
     
     // 15 minutes validity for access token
     private final long ACCESS_TOKEN_VALIDITY_MS = 1000 * 60 * 15; 
-    // 7 days validity for refresh token
-    private final long REFRESH_TOKEN_VALIDITY_MS = 1000 * 60 * 60 * 24 * 7;
-
-    @Autowired
-    private RefreshTokenService refreshTokenService;
-
-    @Autowired
-    private RedisTemplate<String, Object> redisTemplate;
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
+    // refresh token 은 RefreshTokenService 가 발급/교체한다
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(SECRET_KEY).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * 서명과 만료 시간을 한 번에 검증하고 로그인 사용자 정보를 반환한다.
+     * 검증에 실패하면 JwtException (만료 시 ExpiredJwtException) 을 그대로 던진다.
+     */
+    public AuthPrincipal verify(String token) {
+        Claims claims = extractAllClaims(token);
+        return new AuthPrincipal(claims.getSubject(), claims.get("role", String.class), claims.get("memberNo", String.class),
+                claims.get("deptCode", String.class), claims.getId(), claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L);
     }
 
-    public String generateToken(String username, String role, String memberNo) {
+    public String generateToken(String username, String role, String memberNo, String deptCode) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
         claims.put("memberNo", memberNo);
+        if (deptCode != null) {
+            claims.put("deptCode", deptCode);
+        }
         return createToken(claims, username);
     }
 
@@ -67,28 +54,11 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                // 토큰별 ID (jti). 로그아웃 등으로 만료 전에 폐기할 때 이 값을 폐기 목록에 올린다
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + ACCESS_TOKEN_VALIDITY_MS))
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
-
-    public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
-    }
-
-    public String createRefreshToken(String memberId) {
-        String refreshToken = UUID.randomUUID().toString();
-        refreshTokenService.saveRefreshToken(memberId, refreshToken, REFRESH_TOKEN_VALIDITY_MS);
-        return refreshToken;
-    }
-
-    public String getRefreshToken(String memberId) {
-        return (String) redisTemplate.opsForValue().get(memberId);
-    }
-
-    public String getMemberNoFromToken(String token) {
-        return extractClaim(token, claims -> claims.get("memberNo", String.class));
-    }
 }
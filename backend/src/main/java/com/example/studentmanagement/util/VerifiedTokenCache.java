@@ -0,0 +1,129 @@
+package com.example.studentmanagement.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 검증이 끝난 access token 의 노드별 캐시 (토큰 SHA-256 해시 -> AuthPrincipal).
+ * 같은 토큰으로 반복 호출되는 폴링 요청은 서명 검증과 클레임 디코딩 없이 해시 계산 + 맵 조회로 끝난다.
+ * 항목은 토큰 만료 시각과 max-ttl 중 이른 시각까지만 유효하다.
+ * 크기가 max-size 에 닿으면 한 스레드만 만료 항목을 지우고, 그래도 크면 임의 항목을 지워 90% 까지 줄인다 (락 없음).
+ * 토큰이 폐기되면 invalidate 로 즉시 제거한다.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private record Entry(AuthPrincipal principal, long expiresAt) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Value("${auth.token-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.token-cache.max-size:50000}")
+    private int maxSize;
+
+    @Value("${auth.token-cache.max-ttl-seconds:300}")
+    private long maxTtlSeconds;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("auth.token.cache.hit")
+                .description("Requests authenticated from the verified-token cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("auth.token.cache.miss")
+                .description("Requests that had to verify the JWT signature")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("auth.token.cache.evicted")
+                .description("Verified-token cache entries removed to stay under max-size")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", entries, Map::size)
+                .description("Verified tokens currently cached on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 있고 아직 유효하면 principal, 없으면 null.
+     */
+    public AuthPrincipal get(String token) {
+        if (!enabled) {
+            return null;
+        }
+        String key = hash(token);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt() <= System.currentTimeMillis()) {
+            if (entry != null) {
+                entries.remove(key, entry);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.principal();
+    }
+
+    public void put(String token, AuthPrincipal principal) {
+        if (!enabled) {
+            return;
+        }
+        long expiresAt = Math.min(principal.expiresAt(), System.currentTimeMillis() + maxTtlSeconds * 1000);
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(hash(token), new Entry(principal, expiresAt));
+    }
+
+    public void invalidate(String token) {
+        entries.remove(hash(token));
+    }
+
+    private void evict() {
+        // 이미 다른 스레드가 정리 중이면 기다리지 않고 그냥 넣는다 (잠깐 max-size 를 넘을 수 있음)
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+            int target = maxSize * 9 / 10;
+            Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    // 원본 토큰은 메모리에 남기지 않는다
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
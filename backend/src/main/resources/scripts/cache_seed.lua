@@ -0,0 +1,21 @@
+-- 강의 수강 상태를 DB 기준으로 최초 적재 (카운터가 없을 때만, Set 적재와 카운터 설정을 원자적으로)
+-- KEYS[1] = course:count:{courseCode}
+-- KEYS[2] = enrollment:{courseCode}
+-- KEYS[3] = enrollment:pending_cancel  (DB 반영 전 취소 요청 수, field = courseCode|studentNo)
+-- ARGV[1] = courseCode
+-- ARGV[2 ..] = DB 에 저장된 수강생 학번
+-- 반환값: 1 = 적재함, 0 = 이미 운영 중인 카운터가 있어 건드리지 않음
+
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 0
+end
+
+for i = 2, #ARGV do
+    -- DB 삭제가 아직 대기 중인 취소 건은 되살리지 않는다
+    if redis.call('HEXISTS', KEYS[3], ARGV[1] .. '|' .. ARGV[i]) == 0 then
+        redis.call('SADD', KEYS[2], ARGV[i])
+    end
+end
+-- 카운터는 항상 Set 크기와 같게 (Set 에 남아 있던 DB 반영 전 신청도 포함)
+redis.call('SET', KEYS[1], redis.call('SCARD', KEYS[2]))
+return 1
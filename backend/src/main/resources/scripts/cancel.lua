@@ -0,0 +1,39 @@
+-- 수강 취소 시 좌석 반환 + 대기열 선두 학생 자동 승격을 한 번의 원자 연산으로 처리
+-- KEYS[1] = enrollment:{courseCode}    (신청 학생 Set)
+-- KEYS[2] = course:count:{courseCode}  (현재 신청 인원)
+-- KEYS[3] = waitlist:{courseCode}      (대기열 Sorted Set, score = 대기 등록 시각)
+-- KEYS[4] = stream:enrollment          (DB 저장 대기 스트림)
+-- KEYS[5] = student:courses:{studentNo} (취소하는 학생의 신청 강의 Set)
+-- KEYS[6] = enrollment:pending_cancel  (DB 반영 전 취소 요청 수, field = courseCode|studentNo)
+-- ARGV[1] = studentNo
+-- ARGV[2] = courseCode
+-- ARGV[3] = 요청 시각 (epoch millis)
+-- 반환값: nil = 신청 내역 없음, '' = 좌석 반환(승격 없음), 그 외 = 승격된 학생 학번
+--         (승격된 학생의 student:courses Set 은 호출한 쪽에서 갱신한다)
+
+if redis.call('SREM', KEYS[1], ARGV[1]) == 0 then
+    return false
+end
+redis.call('SREM', KEYS[5], ARGV[2])
+redis.call('XADD', KEYS[4], '*', 'op', 'CANCEL', 'studentNo', ARGV[1], 'courseCode', ARGV[2], 'requestedAt', ARGV[3])
+-- DB 에서 지워지기 전까지 보정 작업이 이 학생을 "DB 에만 있는 수강생" 으로 되살리지 않도록 표시
+redis.call('HINCRBY', KEYS[6], ARGV[2] .. '|' .. ARGV[1], 1)
+
+-- 대기열 선두(FIFO)부터 꺼내서 아직 수강 중이 아닌 학생에게 좌석을 넘긴다 (카운터는 그대로 유지)
+while true do
+    local head = redis.call('ZPOPMIN', KEYS[3])
+    if #head == 0 then
+        break
+    end
+    local next = head[1]
+    if redis.call('SADD', KEYS[1], next) == 1 then
+        redis.call('XADD', KEYS[4], '*', 'op', 'ENROLL', 'studentNo', next, 'courseCode', ARGV[2], 'requestedAt', ARGV[3])
+        return next
+    end
+end
+
+-- 대기자가 없으면 좌석 반환
+if tonumber(redis.call('GET', KEYS[2]) or '0') > 0 then
+    redis.call('DECR', KEYS[2])
+end
+return ''
@@ -0,0 +1,51 @@
+-- 수강신청 원자적 처리 (중복 확인 + 정원 확인 + 등록을 한 번의 호출로)
+-- KEYS[1] = enrollment:{courseCode}      (신청 학생 Set)
+-- KEYS[2] = course:max_stu:{courseCode}  (최대 수강 인원)
+-- KEYS[3] = course:count:{courseCode}    (현재 신청 인원)
+-- KEYS[4] = stream:enrollment            (DB 저장 대기 스트림)
+-- KEYS[5] = waitlist:{courseCode}         (대기열 Sorted Set, score = 대기 등록 시각)
+-- KEYS[6] = course:waitlist_max:{courseCode} (대기열 정원, 없으면 대기열 미사용)
+-- KEYS[7] = student:courses:{studentNo}   (학생별 신청 강의 Set, 시간표 충돌 검사용)
+-- KEYS[8] = student:waitlists:{studentNo} (학생별 대기 강의 Set, 시간표 충돌 검사용)
+-- ARGV[1] = studentNo
+-- ARGV[2] = courseCode
+-- ARGV[3] = 신청 시각 (epoch millis)
+-- 반환값: 0 = 성공, 1 = 중복 신청, 2 = 정원 초과, 3 = 정원 정보 없음, 4 = 대기열 등록(또는 이미 대기 중)
+
+if redis.call('SISMEMBER', KEYS[1], ARGV[1]) == 1 then
+    return 1
+end
+
+local maxStu = redis.call('GET', KEYS[2])
+if not maxStu then
+    return 3
+end
+
+local count = tonumber(redis.call('GET', KEYS[3]) or '0')
+if count >= tonumber(maxStu) then
+    -- 대기열을 사용하는 강의면 도착 순서대로 대기열에 등록 (이미 대기 중이면 기존 순번 유지)
+    local waitlistMax = redis.call('GET', KEYS[6])
+    if not waitlistMax then
+        return 2
+    end
+    if redis.call('ZSCORE', KEYS[5], ARGV[1]) then
+        redis.call('SADD', KEYS[8], ARGV[2])
+        return 4
+    end
+    if redis.call('ZCARD', KEYS[5]) >= tonumber(waitlistMax) then
+        return 2
+    end
+    redis.call('ZADD', KEYS[5], ARGV[3], ARGV[1])
+    -- 대기 중인 강의도 승격되면 바로 수강 강의가 되므로 충돌 검사 대상에 넣는다
+    redis.call('SADD', KEYS[8], ARGV[2])
+    return 4
+end
+
+redis.call('INCR', KEYS[3])
+redis.call('SADD', KEYS[1], ARGV[1])
+redis.call('SADD', KEYS[7], ARGV[2])
+redis.call('ZREM', KEYS[5], ARGV[1])
+redis.call('SREM', KEYS[8], ARGV[2])
+-- 승인과 같은 원자 연산 안에서 write-behind 스트림에 적재 (승인됐는데 DB 저장 요청이 유실되는 일이 없도록)
+redis.call('XADD', KEYS[4], '*', 'op', 'ENROLL', 'studentNo', ARGV[1], 'courseCode', ARGV[2], 'requestedAt', ARGV[3])
+return 0
@@ -0,0 +1,45 @@
+-- 수강신청 토큰 버킷 (학생별 + 강의별 버킷을 함께 확인하고 둘 다 여유가 있을 때만 토큰 소비)
+-- KEYS[1] = ratelimit:student:{studentNo}
+-- KEYS[2] = ratelimit:course:{courseCode}
+-- ARGV[1] = 학생 버킷 크기 (burst), ARGV[2] = 학생 버킷 초당 충전량
+-- ARGV[3] = 강의 버킷 크기 (burst), ARGV[4] = 강의 버킷 초당 충전량
+-- 반환값: 0 = 허용, 양수 = 다음 토큰까지 대기해야 하는 시간 (ms)
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local function refill(key, capacity, rate)
+    local state = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(state[1]) or capacity
+    local ts = tonumber(state[2]) or now
+    return math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+end
+
+local function save(key, tokens, capacity, rate)
+    redis.call('HSET', key, 'tokens', tokens, 'ts', now)
+    -- 가득 찰 때까지의 시간이 지나면 키가 없어도 같은 상태이므로 만료시킨다
+    redis.call('PEXPIRE', key, math.ceil(capacity * 1000 / rate) + 1000)
+end
+
+local studentCapacity, studentRate = tonumber(ARGV[1]), tonumber(ARGV[2])
+local courseCapacity, courseRate = tonumber(ARGV[3]), tonumber(ARGV[4])
+
+local studentTokens = refill(KEYS[1], studentCapacity, studentRate)
+local courseTokens = refill(KEYS[2], courseCapacity, courseRate)
+
+local wait = 0
+if studentTokens >= 1 and courseTokens >= 1 then
+    studentTokens = studentTokens - 1
+    courseTokens = courseTokens - 1
+else
+    if studentTokens < 1 then
+        wait = math.max(wait, (1 - studentTokens) * 1000 / studentRate)
+    end
+    if courseTokens < 1 then
+        wait = math.max(wait, (1 - courseTokens) * 1000 / courseRate)
+    end
+end
+
+save(KEYS[1], studentTokens, studentCapacity, studentRate)
+save(KEYS[2], courseTokens, courseCapacity, courseRate)
+return math.ceil(wait)
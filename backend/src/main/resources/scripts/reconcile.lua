@@ -0,0 +1,31 @@
+-- 수강신청 Redis 상태를 DB 기준으로 보정 (Set 수정 + 카운터 재계산을 원자적으로)
+-- KEYS[1] = enrollment:{courseCode}
+-- KEYS[2] = course:count:{courseCode}
+-- KEYS[3] = enrollment:pending_cancel  (DB 반영 전 취소 요청 수, field = courseCode|studentNo)
+-- ARGV[1] = courseCode
+-- ARGV[2] = 제거할 학번 수 n
+-- ARGV[3 .. n+2] = Set 에서 제거할 학번 (유예 시간 동안 DB 에 없던 유령 좌석)
+-- ARGV[n+3 ..]   = Set 에 추가할 학번 (유예 시간 동안 Redis 에 없던 DB 수강생)
+-- 반환값: { 보정 전 카운터 - 보정 후 Set 크기 (양수면 카운터가 과다했음), 실제로 추가한 학번... }
+
+local removeCount = tonumber(ARGV[2])
+for i = 3, removeCount + 2 do
+    redis.call('SREM', KEYS[1], ARGV[i])
+end
+
+local result = { 0 }
+for i = removeCount + 3, #ARGV do
+    -- 호출 쪽에서 조회한 뒤에 취소된 학생은 DB 삭제가 아직 대기 중이므로 되살리지 않는다
+    if redis.call('HEXISTS', KEYS[3], ARGV[1] .. '|' .. ARGV[i]) == 0
+            and redis.call('SADD', KEYS[1], ARGV[i]) == 1 then
+        table.insert(result, ARGV[i])
+    end
+end
+
+local before = tonumber(redis.call('GET', KEYS[2]) or '0')
+local size = redis.call('SCARD', KEYS[1])
+if before ~= size then
+    redis.call('SET', KEYS[2], size)
+end
+result[1] = before - size
+return result
@@ -0,0 +1,11 @@
+-- refresh token 세션 생성 (로그인 한 번 = 세션 하나, 회원당 여러 세션 가능)
+-- KEYS[1] = auth:refresh:{sessionId}
+-- ARGV[1] = memberId
+-- ARGV[2] = 토큰 해시
+-- ARGV[3] = 세션 절대 만료 시각 (epoch ms)
+-- ARGV[4] = 유휴 만료 시간 (ms)
+-- 반환값: 1
+
+redis.call('HSET', KEYS[1], 'memberId', ARGV[1], 'current', ARGV[2], 'expiresAt', ARGV[3])
+redis.call('PEXPIRE', KEYS[1], ARGV[4])
+return 1
@@ -0,0 +1,36 @@
+-- refresh token 교체 (compare-and-swap). 제시된 토큰이 세션의 현재 토큰일 때만 새 토큰으로 바꾼다
+-- KEYS[1] = auth:refresh:{sessionId}
+-- ARGV[1] = 제시된 토큰 해시
+-- ARGV[2] = 새 토큰 해시
+-- ARGV[3] = 현재 시각 (epoch ms)
+-- ARGV[4] = 유휴 만료 시간 (ms)
+-- ARGV[5] = 직전 토큰 허용 시간 (ms, 여러 탭이 동시에 교체를 요청한 경우)
+-- 반환값: { 결과, memberId }
+--   '0' = 교체 성공, '1' = 세션 없음/만료, '2' = 방금 교체된 직전 토큰 (세션 유지), '3' = 재사용 감지 (세션 폐기)
+
+local session = redis.call('HMGET', KEYS[1], 'memberId', 'current', 'previous', 'rotatedAt', 'expiresAt')
+local memberId = session[1]
+if not memberId then
+    return { '1', '' }
+end
+
+local now = tonumber(ARGV[3])
+local remaining = tonumber(session[5]) - now
+if remaining <= 0 then
+    redis.call('DEL', KEYS[1])
+    return { '1', memberId }
+end
+
+if session[2] == ARGV[1] then
+    redis.call('HSET', KEYS[1], 'current', ARGV[2], 'previous', ARGV[1], 'rotatedAt', ARGV[3])
+    redis.call('PEXPIRE', KEYS[1], math.min(tonumber(ARGV[4]), remaining))
+    return { '0', memberId }
+end
+
+if session[3] == ARGV[1] and now - tonumber(session[4]) <= tonumber(ARGV[5]) then
+    return { '2', memberId }
+end
+
+-- 이미 교체된 예전 토큰이 다시 쓰임: 탈취 가능성이 있으므로 세션(토큰 계열) 전체를 폐기
+redis.call('DEL', KEYS[1])
+return { '3', memberId }
@@ -0,0 +1,21 @@
+-- write-behind 요청 ACK + 스트림에서 삭제 + 취소 요청의 미반영 표시 해제
+-- KEYS[1] = stream:enrollment
+-- KEYS[2] = enrollment:pending_cancel
+-- ARGV[1] = consumer group
+-- ARGV[2..] = (레코드 ID, 취소 요청이면 courseCode|studentNo 아니면 '') 쌍
+-- 반환값: 새로 ACK 된 레코드 수 (이미 ACK 된 레코드는 표시를 두 번 해제하지 않는다)
+-- 소비 그룹이 하나뿐이라 ACK 된 레코드는 다시 읽히지 않으므로 바로 XDEL 해 스트림이 계속 커지지 않게 한다
+-- (dead-letter 레코드는 ACK 전에 dead-letter 스트림으로 복사된다)
+
+local acked = 0
+for i = 2, #ARGV, 2 do
+    if redis.call('XACK', KEYS[1], ARGV[1], ARGV[i]) == 1 then
+        acked = acked + 1
+        redis.call('XDEL', KEYS[1], ARGV[i])
+        local field = ARGV[i + 1]
+        if field ~= '' and redis.call('HINCRBY', KEYS[2], field, -1) <= 0 then
+            redis.call('HDEL', KEYS[2], field)
+        end
+    end
+end
+return acked
@@ -0,0 +1,16 @@
+-- 학생별 신청 강의 Set 을 DB 기준으로 채우고 적재 완료 표시를 남긴다
+-- KEYS[1] = student:courses:{studentNo}
+-- KEYS[2] = student:courses:loaded:{studentNo}  (DB 내역이 Set 에 반영되었다는 표시)
+-- KEYS[3] = enrollment:pending_cancel            (DB 반영 전 취소 요청 수, field = courseCode|studentNo)
+-- ARGV[1] = studentNo
+-- ARGV[2 ..] = DB 에 저장된 신청 강의 코드
+-- 반환값: 적재 후 Set 전체 (DB 저장 전인 신청도 포함)
+
+for i = 2, #ARGV do
+    -- DB 삭제가 아직 대기 중인 취소 건은 되살리지 않는다
+    if redis.call('HEXISTS', KEYS[3], ARGV[i] .. '|' .. ARGV[1]) == 0 then
+        redis.call('SADD', KEYS[1], ARGV[i])
+    end
+end
+redis.call('SET', KEYS[2], '1')
+return redis.call('SMEMBERS', KEYS[1])
@@ -0,0 +1,27 @@
+-- access token 폐기 등록
+-- KEYS[1] = auth:revoked:{jti}   (토큰 남은 수명 동안만 유지, 개별 확인용)
+-- KEYS[2] = auth:revoked:index   (jti -> 만료 시각 sorted set, 노드별 Bloom filter 재적재용)
+-- ARGV[1] = jti
+-- ARGV[2] = 토큰 만료 시각 (epoch ms)
+-- ARGV[3] = 현재 시각 (epoch ms)
+-- 반환값: 1 = 새로 폐기, 0 = 이미 만료되었거나 이미 폐기된 토큰
+
+local expiresAt = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local ttl = expiresAt - now
+if ttl <= 0 then
+    return 0
+end
+
+local added = redis.call('SET', KEYS[1], '1', 'PX', ttl, 'NX')
+redis.call('ZADD', KEYS[2], expiresAt, ARGV[1])
+-- 이미 만료된 토큰은 목록에서 정리하고, 색인 키는 가장 늦게 만료되는 토큰까지만 유지
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+local last = redis.call('ZRANGE', KEYS[2], -1, -1, 'WITHSCORES')
+if last[2] then
+    redis.call('PEXPIREAT', KEYS[2], math.floor(tonumber(last[2])))
+end
+if added then
+    return 1
+end
+return 0
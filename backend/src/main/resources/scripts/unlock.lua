@@ -0,0 +1,9 @@
+-- 자기가 잡은 락만 해제 (compare-and-delete)
+-- KEYS[1] = 락 키
+-- ARGV[1] = 락을 잡을 때 저장한 토큰
+-- 반환값: 1 = 해제, 0 = 이미 만료되었거나 다른 노드가 잡은 락
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
@@ -0,0 +1,31 @@
+-- 대기실 입장 번호를 지난 시간만큼 전진 (발급된 마지막 번호를 넘지 않도록)
+-- 호출 주기가 밀리거나 여러 노드가 호출해도 실제 입장 속도는 초당 ARGV[1] 명이 된다
+-- KEYS[1] = waitroom:seq
+-- KEYS[2] = waitroom:admitted
+-- KEYS[3] = waitroom:admitted_at   (마지막으로 입장 인원을 계산한 기준 시각, epoch ms)
+-- ARGV[1] = 초당 입장 인원
+-- 반환값: 입장 허용된 마지막 번호
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+local rate = tonumber(ARGV[1])
+
+local seq = tonumber(redis.call('GET', KEYS[1]) or '0')
+local admitted = tonumber(redis.call('GET', KEYS[2]) or '0')
+local last = tonumber(redis.call('GET', KEYS[3]) or '0')
+
+-- 기다리는 학생이 없는 동안은 입장 인원을 적립하지 않는다
+if admitted >= seq or last == 0 or last > now then
+    redis.call('SET', KEYS[3], now)
+    return admitted
+end
+
+local count = math.floor((now - last) * rate / 1000)
+if count <= 0 then
+    return admitted
+end
+local next = math.min(seq, admitted + count)
+redis.call('SET', KEYS[2], next)
+-- 입장시킨 인원만큼만 기준 시각을 옮겨서 1명 미만의 나머지는 다음 호출로 넘긴다
+redis.call('SET', KEYS[3], last + math.floor(count * 1000 / rate))
+return next
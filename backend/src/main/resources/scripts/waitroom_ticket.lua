@@ -0,0 +1,13 @@
+-- 대기실 번호표 발급 (이미 번호표가 있으면 기존 번호 유지)
+-- KEYS[1] = waitroom:ticket:{studentNo}
+-- KEYS[2] = waitroom:seq
+-- ARGV[1] = 번호표 유효 시간 (초)
+-- 반환값: 번호표 번호
+
+local ticket = redis.call('GET', KEYS[1])
+if ticket then
+    return tonumber(ticket)
+end
+local next = redis.call('INCR', KEYS[2])
+redis.call('SET', KEYS[1], next, 'EX', ARGV[1])
+return next
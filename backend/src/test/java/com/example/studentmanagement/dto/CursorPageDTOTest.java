@@ -0,0 +1,68 @@
+package com.example.studentmanagement.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CursorPageDTOTest {
+
+    @Test
+    void limitClampsRequestedSize() {
+        assertThat(CursorPageDTO.limit(0)).isEqualTo(1);
+        assertThat(CursorPageDTO.limit(-5)).isEqualTo(1);
+        assertThat(CursorPageDTO.limit(20)).isEqualTo(20);
+        assertThat(CursorPageDTO.limit(10_000)).isEqualTo(CursorPageDTO.MAX_SIZE);
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPageDTO<Integer> page = CursorPageDTO.of(List.of(1, 2, 3), 3, id -> id, null);
+
+        assertThat(page.getContent()).containsExactly(1, 2, 3);
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getTotalCount()).isNull();
+    }
+
+    @Test
+    void extraRowBecomesCursorOfLastReturnedItem() {
+        CursorPageDTO<Integer> page = CursorPageDTO.of(List.of(10, 20, 30, 40), 3, id -> id, 7L);
+
+        assertThat(page.getContent()).containsExactly(10, 20, 30);
+        assertThat(page.getNextCursor()).isEqualTo("30");
+        assertThat(page.getTotalCount()).isEqualTo(7L);
+    }
+
+    @Test
+    void walkingCursorsVisitsEveryRowOnceEvenWhenRowsAreAddedBetweenPages() {
+        TreeSet<Integer> table = new TreeSet<>();
+        for (int id = 1; id <= 10; id++) {
+            table.add(id * 10);
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            // WHERE id > :after ORDER BY id LIMIT size + 1 과 같은 조회
+            int after = cursor != null ? Integer.parseInt(cursor) : Integer.MIN_VALUE;
+            List<Integer> window = table.tailSet(after, false).stream().limit(4).toList();
+            CursorPageDTO<Integer> page = CursorPageDTO.of(window, 3, id -> id, null);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+            pages++;
+            if (pages == 1) {
+                // 페이지 사이에 앞쪽(이미 지난 범위)과 뒤쪽에 행이 추가되어도 offset 처럼 밀리거나 중복되지 않는다
+                table.add(5);
+                table.add(55);
+            }
+        } while (cursor != null);
+
+        assertThat(seen).doesNotHaveDuplicates().isSorted();
+        assertThat(seen).containsExactly(10, 20, 30, 40, 50, 55, 60, 70, 80, 90, 100);
+        assertThat(pages).isEqualTo(4);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CancelScriptTest extends RedisScriptTestSupport {
+
+    private static final RedisScript<String> CANCEL = script("cancel.lua", String.class);
+    private static final String COURSE = "CSE00001_01";
+
+    private String cancel(String studentNo) {
+        return redisTemplate.execute(CANCEL,
+                List.of(EnrollmentKeys.enrollment(COURSE), EnrollmentKeys.count(COURSE),
+                        EnrollmentKeys.waitlist(COURSE), EnrollmentDbWriterService.STREAM_KEY,
+                        EnrollmentKeys.studentCourses(studentNo), EnrollmentKeys.pendingCancels()),
+                studentNo, COURSE, String.valueOf(System.currentTimeMillis()));
+    }
+
+    private void enrolled(String... studentNos) {
+        redisTemplate.opsForSet().add(EnrollmentKeys.enrollment(COURSE), (Object[]) studentNos);
+        redisTemplate.opsForValue().set(EnrollmentKeys.count(COURSE), String.valueOf(studentNos.length));
+        for (String studentNo : studentNos) {
+            redisTemplate.opsForSet().add(EnrollmentKeys.studentCourses(studentNo), COURSE);
+        }
+    }
+
+    private void waiting(String studentNo, long score) {
+        redisTemplate.opsForZSet().add(EnrollmentKeys.waitlist(COURSE), studentNo, score);
+    }
+
+    @Test
+    void releasesSeatWhenNobodyIsWaiting() {
+        enrolled("S1", "S2");
+
+        assertThat(cancel("S1")).isEmpty();
+
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("1");
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.enrollment(COURSE), "S1")).isFalse();
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.studentCourses("S1"), COURSE)).isFalse();
+        assertThat(redisTemplate.opsForHash().get(EnrollmentKeys.pendingCancels(), EnrollmentKeys.pendingCancelField(COURSE, "S1")))
+                .isEqualTo("1");
+        assertThat(redisTemplate.opsForStream().size(EnrollmentDbWriterService.STREAM_KEY)).isEqualTo(1L);
+    }
+
+    @Test
+    void promotesHeadOfWaitlistAndKeepsCounter() {
+        enrolled("S1");
+        waiting("W2", 200);
+        waiting("W1", 100);
+
+        assertThat(cancel("S1")).isEqualTo("W1");
+
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("1");
+        assertThat(redisTemplate.opsForSet().members(EnrollmentKeys.enrollment(COURSE))).containsExactly("W1");
+        assertThat(redisTemplate.opsForZSet().range(EnrollmentKeys.waitlist(COURSE), 0, -1)).containsExactly("W2");
+        // 취소 + 승격 신청이 함께 스트림에 적재된다
+        assertThat(redisTemplate.opsForStream().size(EnrollmentDbWriterService.STREAM_KEY)).isEqualTo(2L);
+    }
+
+    @Test
+    void skipsWaitlistedStudentWhoIsAlreadyEnrolled() {
+        enrolled("S1", "S2");
+        waiting("S2", 100);
+        waiting("W1", 200);
+
+        assertThat(cancel("S1")).isEqualTo("W1");
+        assertThat(redisTemplate.opsForZSet().zCard(EnrollmentKeys.waitlist(COURSE))).isZero();
+    }
+
+    @Test
+    void returnsNullWhenNotEnrolled() {
+        enrolled("S1");
+
+        assertThat(cancel("S9")).isNull();
+
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("1");
+        assertThat(redisTemplate.hasKey(EnrollmentDbWriterService.STREAM_KEY)).isFalse();
+        assertThat(redisTemplate.hasKey(EnrollmentKeys.pendingCancels())).isFalse();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.beans.EnrollmentAdmissionResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EnrollScriptTest extends RedisScriptTestSupport {
+
+    private static final RedisScript<Long> ENROLL = script("enroll.lua", Long.class);
+    private static final String COURSE = "CSE00001_01";
+
+    private EnrollmentAdmissionResult enroll(String studentNo) {
+        Long code = redisTemplate.execute(ENROLL,
+                List.of(EnrollmentKeys.enrollment(COURSE), EnrollmentKeys.maxStu(COURSE), EnrollmentKeys.count(COURSE),
+                        EnrollmentDbWriterService.STREAM_KEY, EnrollmentKeys.waitlist(COURSE), EnrollmentKeys.waitlistMax(COURSE),
+                        EnrollmentKeys.studentCourses(studentNo), EnrollmentKeys.studentWaitlists(studentNo)),
+                studentNo, COURSE, String.valueOf(System.currentTimeMillis()));
+        return EnrollmentAdmissionResult.fromCode(code);
+    }
+
+    private void capacity(int maxStu, Integer waitlistMax) {
+        redisTemplate.opsForValue().set(EnrollmentKeys.maxStu(COURSE), String.valueOf(maxStu));
+        if (waitlistMax != null) {
+            redisTemplate.opsForValue().set(EnrollmentKeys.waitlistMax(COURSE), String.valueOf(waitlistMax));
+        }
+    }
+
+    @Test
+    void admitsAndRecordsEverythingInOneCall() {
+        capacity(2, null);
+
+        assertThat(enroll("S1")).isEqualTo(EnrollmentAdmissionResult.ADMITTED);
+
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("1");
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.enrollment(COURSE), "S1")).isTrue();
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.studentCourses("S1"), COURSE)).isTrue();
+        assertThat(redisTemplate.opsForStream().size(EnrollmentDbWriterService.STREAM_KEY)).isEqualTo(1L);
+    }
+
+    @Test
+    void rejectsDuplicateWithoutTouchingCounter() {
+        capacity(2, null);
+        enroll("S1");
+
+        assertThat(enroll("S1")).isEqualTo(EnrollmentAdmissionResult.ALREADY_ENROLLED);
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("1");
+        assertThat(redisTemplate.opsForStream().size(EnrollmentDbWriterService.STREAM_KEY)).isEqualTo(1L);
+    }
+
+    @Test
+    void reportsFullCourseWhenNoWaitlist() {
+        capacity(1, null);
+        enroll("S1");
+
+        assertThat(enroll("S2")).isEqualTo(EnrollmentAdmissionResult.COURSE_FULL);
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.enrollment(COURSE), "S2")).isFalse();
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("1");
+    }
+
+    @Test
+    void reportsUnknownCapacityWhenCacheIsMissing() {
+        assertThat(enroll("S1")).isEqualTo(EnrollmentAdmissionResult.CAPACITY_UNKNOWN);
+        assertThat(redisTemplate.hasKey(EnrollmentKeys.count(COURSE))).isFalse();
+    }
+
+    @Test
+    void waitlistsUpToWaitlistCapacityInArrivalOrder() {
+        capacity(1, 2);
+        enroll("S1");
+
+        assertThat(enroll("S2")).isEqualTo(EnrollmentAdmissionResult.WAITLISTED);
+        assertThat(enroll("S3")).isEqualTo(EnrollmentAdmissionResult.WAITLISTED);
+        // 이미 대기 중이면 순번 유지
+        assertThat(enroll("S2")).isEqualTo(EnrollmentAdmissionResult.WAITLISTED);
+        assertThat(enroll("S4")).isEqualTo(EnrollmentAdmissionResult.COURSE_FULL);
+
+        assertThat(redisTemplate.opsForZSet().rank(EnrollmentKeys.waitlist(COURSE), "S2")).isZero();
+        assertThat(redisTemplate.opsForZSet().zCard(EnrollmentKeys.waitlist(COURSE))).isEqualTo(2L);
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.studentWaitlists("S2"), COURSE)).isTrue();
+        assertThat(redisTemplate.hasKey(EnrollmentKeys.studentWaitlists("S4"))).isFalse();
+    }
+
+    @Test
+    void admissionClearsStudentsWaitlistEntry() {
+        capacity(1, 1);
+        enroll("S1");
+        enroll("S2");
+        // 좌석이 비면 (카운터 감소) 대기 중이던 학생이 직접 신청해 들어갈 수 있다
+        redisTemplate.opsForValue().set(EnrollmentKeys.count(COURSE), "0");
+
+        assertThat(enroll("S2")).isEqualTo(EnrollmentAdmissionResult.ADMITTED);
+
+        assertThat(redisTemplate.opsForZSet().zCard(EnrollmentKeys.waitlist(COURSE))).isZero();
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.studentWaitlists("S2"), COURSE)).isFalse();
+    }
+}
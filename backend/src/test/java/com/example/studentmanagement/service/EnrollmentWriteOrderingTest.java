@@ -0,0 +1,109 @@
+package com.example.studentmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * write-behind 순서 보장 테스트. 재시도/거절로 스트림 순서와 다르게 도착한 요청이 더 최근 요청을 덮어쓰지 않는지 확인한다.
+ * enrollment_write_seq 조건부 반영은 SQL 로 동작하므로 MySQL 호환 모드의 H2 에 같은 테이블을 만들어 확인한다.
+ */
+class EnrollmentWriteOrderingTest {
+
+    private static final String STUDENT = "20240001";
+    private static final String COURSE = "CSE00001_01";
+
+    private JdbcTemplate jdbcTemplate;
+    private EnrollmentDbWriterService writer;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE enrollment (enrollment_id INT AUTO_INCREMENT PRIMARY KEY, "
+                + "stu_no VARCHAR(20) NOT NULL, course_code VARCHAR(20) NOT NULL, enrollment_date TIMESTAMP, "
+                + "enrollment_status VARCHAR(20), cancel_date TIMESTAMP, "
+                + "CONSTRAINT uk_enrollment UNIQUE (stu_no, course_code))");
+        jdbcTemplate.execute("CREATE TABLE enrollment_write_seq (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "stu_no VARCHAR(20) NOT NULL, course_code VARCHAR(20) NOT NULL, last_seq BIGINT NOT NULL, "
+                + "CONSTRAINT uk_enrollment_write_seq UNIQUE (stu_no, course_code))");
+        // write() 는 Redis 와 executor 를 쓰지 않는다
+        writer = new EnrollmentDbWriterService(jdbcTemplate, new DataSourceTransactionManager(dataSource), null, null);
+    }
+
+    private static MapRecord<String, Object, Object> record(String op, long timestamp, long sequence) {
+        Map<Object, Object> body = new HashMap<>();
+        body.put("op", op);
+        body.put("studentNo", STUDENT);
+        body.put("courseCode", COURSE);
+        body.put("requestedAt", String.valueOf(timestamp));
+        return MapRecord.create(EnrollmentDbWriterService.STREAM_KEY, body).withId(RecordId.of(timestamp, sequence));
+    }
+
+    private boolean enrolled() {
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM enrollment WHERE stu_no = ? AND course_code = ?", Integer.class, STUDENT, COURSE);
+        return count != null && count > 0;
+    }
+
+    @Test
+    void sequenceFollowsStreamIdOrder() {
+        long first = EnrollmentDbWriterService.sequence(record("ENROLL", 1_000, 1));
+        long second = EnrollmentDbWriterService.sequence(record("ENROLL", 1_000, 2));
+        long third = EnrollmentDbWriterService.sequence(record("ENROLL", 1_001, 0));
+
+        assertThat(first).isLessThan(second);
+        assertThat(second).isLessThan(third);
+    }
+
+    @Test
+    void appliesRequestsInStreamOrder() {
+        writer.write(List.of(record("ENROLL", 1_000, 0)));
+        assertThat(enrolled()).isTrue();
+
+        writer.write(List.of(record("CANCEL", 2_000, 0)));
+        assertThat(enrolled()).isFalse();
+
+        writer.write(List.of(record("ENROLL", 3_000, 0)));
+        assertThat(enrolled()).isTrue();
+    }
+
+    @Test
+    void retriedEnrollDoesNotUndoLaterCancel() {
+        // 신청이 실패해 재시도 대기 중인 사이 취소가 먼저 반영된 경우
+        writer.write(List.of(record("CANCEL", 2_000, 0)));
+        writer.write(List.of(record("ENROLL", 1_000, 0)));
+
+        assertThat(enrolled()).isFalse();
+    }
+
+    @Test
+    void redeliveredEnrollAfterCancelIsIgnored() {
+        writer.write(List.of(record("ENROLL", 1_000, 0)));
+        writer.write(List.of(record("CANCEL", 2_000, 0)));
+        writer.write(List.of(record("ENROLL", 1_000, 0)));
+
+        assertThat(enrolled()).isFalse();
+    }
+
+    @Test
+    void keepsOnlyLatestRequestWithinBatch() {
+        writer.write(List.of(record("CANCEL", 2_000, 0), record("ENROLL", 1_000, 0)));
+        assertThat(enrolled()).isFalse();
+
+        writer.write(List.of(record("ENROLL", 3_000, 0), record("CANCEL", 2_500, 0)));
+        assertThat(enrolled()).isTrue();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitScriptTest extends RedisScriptTestSupport {
+
+    private static final RedisScript<Long> RATE_LIMIT = script("rate_limit.lua", Long.class);
+    private static final String COURSE = "CSE00001_01";
+
+    private long acquire(String studentNo, int studentBurst, double studentRate, int courseBurst, double courseRate) {
+        Long waitMs = redisTemplate.execute(RATE_LIMIT,
+                List.of("ratelimit:student:" + studentNo, "ratelimit:course:" + COURSE),
+                String.valueOf(studentBurst), String.valueOf(studentRate),
+                String.valueOf(courseBurst), String.valueOf(courseRate));
+        return waitMs != null ? waitMs : -1;
+    }
+
+    @Test
+    void allowsBurstThenReportsWait() {
+        assertThat(acquire("S1", 2, 1, 100, 100)).isZero();
+        assertThat(acquire("S1", 2, 1, 100, 100)).isZero();
+
+        // 초당 1개 충전이므로 다음 토큰까지 1초 이내
+        assertThat(acquire("S1", 2, 1, 100, 100)).isBetween(1L, 1000L);
+    }
+
+    @Test
+    void rejectionByOneBucketDoesNotSpendTheOther() {
+        assertThat(acquire("S1", 1, 0.001, 3, 0.001)).isZero();
+        assertThat(acquire("S1", 1, 0.001, 3, 0.001)).isPositive();
+
+        // S1 의 거절된 요청은 강의 버킷을 쓰지 않았으므로 남은 2개는 다른 학생이 쓸 수 있다
+        assertThat(acquire("S2", 1, 0.001, 3, 0.001)).isZero();
+        assertThat(acquire("S3", 1, 0.001, 3, 0.001)).isZero();
+        assertThat(acquire("S4", 1, 0.001, 3, 0.001)).isPositive();
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        assertThat(acquire("S1", 1, 100, 100, 100)).isZero();
+        assertThat(acquire("S1", 1, 100, 100, 100)).isPositive();
+
+        // 초당 100개 = 10ms 에 1개
+        Thread.sleep(50);
+        assertThat(acquire("S1", 1, 100, 100, 100)).isZero();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReconcileScriptTest extends RedisScriptTestSupport {
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECONCILE = script("reconcile.lua", List.class);
+    private static final String COURSE = "CSE00001_01";
+
+    private List<?> reconcile(List<String> remove, List<String> add) {
+        List<Object> args = new ArrayList<>();
+        args.add(COURSE);
+        args.add(String.valueOf(remove.size()));
+        args.addAll(remove);
+        args.addAll(add);
+        return redisTemplate.execute(RECONCILE,
+                List.of(EnrollmentKeys.enrollment(COURSE), EnrollmentKeys.count(COURSE), EnrollmentKeys.pendingCancels()),
+                args.toArray());
+    }
+
+    @Test
+    void removesGhostsAddsMissingAndResetsCounter() {
+        redisTemplate.opsForSet().add(EnrollmentKeys.enrollment(COURSE), "S1", "GHOST");
+        redisTemplate.opsForValue().set(EnrollmentKeys.count(COURSE), "5");
+
+        List<?> result = reconcile(List.of("GHOST"), List.of("S2"));
+
+        // 보정 전 카운터 5, 보정 후 Set {S1, S2}
+        assertThat(result).containsExactly(3L, "S2");
+        assertThat(redisTemplate.opsForSet().members(EnrollmentKeys.enrollment(COURSE))).containsExactlyInAnyOrder("S1", "S2");
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("2");
+    }
+
+    @Test
+    void doesNotRestoreStudentWithPendingCancel() {
+        redisTemplate.opsForSet().add(EnrollmentKeys.enrollment(COURSE), "S1");
+        redisTemplate.opsForValue().set(EnrollmentKeys.count(COURSE), "1");
+        redisTemplate.opsForHash().put(EnrollmentKeys.pendingCancels(), EnrollmentKeys.pendingCancelField(COURSE, "S2"), "1");
+
+        List<?> result = reconcile(List.of(), List.of("S2", "S3"));
+
+        assertThat(result).containsExactly(-1L, "S3");
+        assertThat(redisTemplate.opsForSet().isMember(EnrollmentKeys.enrollment(COURSE), "S2")).isFalse();
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("2");
+    }
+
+    @Test
+    void reportsNoDriftWhenAlreadyConsistent() {
+        redisTemplate.opsForSet().add(EnrollmentKeys.enrollment(COURSE), "S1");
+        redisTemplate.opsForValue().set(EnrollmentKeys.count(COURSE), "1");
+
+        // 이미 Set 에 있는 학생은 "추가한 학번" 으로 돌려주지 않는다
+        List<?> result = reconcile(List.of(), List.of("S1"));
+
+        assertThat(result).containsExactly(0L);
+        assertThat(redisTemplate.opsForValue().get(EnrollmentKeys.count(COURSE))).isEqualTo("1");
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.studentmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenServiceTest extends RedisScriptTestSupport {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new RefreshTokenService(redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(service, "absoluteTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(service, "idleTimeoutSeconds", 600L);
+        ReflectionTestUtils.setField(service, "reuseGraceSeconds", 10L);
+    }
+
+    private static String sessionKey(String refreshToken) {
+        return "auth:refresh:" + refreshToken.substring(0, refreshToken.indexOf('.'));
+    }
+
+    @Test
+    void rotatesCurrentTokenWithinSameSession() {
+        String issued = service.issue("user1");
+
+        RefreshTokenService.Rotation rotation = service.rotate(issued);
+
+        assertThat(rotation.status()).isEqualTo(RefreshTokenService.Status.ROTATED);
+        assertThat(rotation.memberId()).isEqualTo("user1");
+        assertThat(rotation.refreshToken()).isNotEqualTo(issued);
+        assertThat(sessionKey(rotation.refreshToken())).isEqualTo(sessionKey(issued));
+        assertThat(service.rotate(rotation.refreshToken()).status()).isEqualTo(RefreshTokenService.Status.ROTATED);
+    }
+
+    @Test
+    void storesOnlyHashesWithIdleTimeout() {
+        String issued = service.issue("user1");
+        String secret = issued.substring(issued.indexOf('.') + 1);
+
+        assertThat(redisTemplate.opsForHash().values(sessionKey(issued))).doesNotContain(secret);
+        assertThat(redisTemplate.getExpire(sessionKey(issued))).isBetween(1L, 600L);
+    }
+
+    @Test
+    void previousTokenWithinGraceIsConcurrentAndKeepsSession() {
+        String issued = service.issue("user1");
+        String rotated = service.rotate(issued).refreshToken();
+
+        // 다른 탭이 같은 토큰으로 동시에 교체를 요청한 경우
+        assertThat(service.rotate(issued).status()).isEqualTo(RefreshTokenService.Status.CONCURRENT);
+        assertThat(service.rotate(rotated).status()).isEqualTo(RefreshTokenService.Status.ROTATED);
+    }
+
+    @Test
+    void reuseAfterGraceRevokesWholeSession() throws InterruptedException {
+        ReflectionTestUtils.setField(service, "reuseGraceSeconds", 0L);
+        String issued = service.issue("user1");
+        String rotated = service.rotate(issued).refreshToken();
+        Thread.sleep(20);
+
+        assertThat(service.rotate(issued).status()).isEqualTo(RefreshTokenService.Status.REUSED);
+        // 정상 사용자가 가진 최신 토큰도 함께 무효가 된다
+        assertThat(service.rotate(rotated).status()).isEqualTo(RefreshTokenService.Status.INVALID);
+        assertThat(meterRegistry.counter("auth.refresh.reuse").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void rejectsUnknownAndMalformedTokens() {
+        assertThat(service.rotate("missing.secret").status()).isEqualTo(RefreshTokenService.Status.INVALID);
+        assertThat(service.rotate("no-separator").status()).isEqualTo(RefreshTokenService.Status.INVALID);
+        assertThat(service.rotate(null).status()).isEqualTo(RefreshTokenService.Status.INVALID);
+    }
+
+    @Test
+    void sessionsAreIndependent() {
+        String first = service.issue("user1");
+        String second = service.issue("user1");
+
+        service.revoke(first);
+
+        assertThat(service.rotate(first).status()).isEqualTo(RefreshTokenService.Status.INVALID);
+        assertThat(service.rotate(second).status()).isEqualTo(RefreshTokenService.Status.ROTATED);
+    }
+
+    @Test
+    void revokeRequiresTokenOfThatSession() {
+        String issued = service.issue("user1");
+        String sessionId = issued.substring(0, issued.indexOf('.'));
+
+        service.revoke(sessionId + ".wrong-secret");
+        assertThat(redisTemplate.hasKey(sessionKey(issued))).isTrue();
+
+        service.revoke(issued);
+        assertThat(redisTemplate.hasKey(sessionKey(issued))).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.studentmanagement.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamAckScriptTest extends RedisScriptTestSupport {
+
+    private static final RedisScript<Long> ACK = script("stream_ack.lua", Long.class);
+    private static final String STREAM = EnrollmentDbWriterService.STREAM_KEY;
+    private static final String GROUP = EnrollmentDbWriterService.GROUP;
+    private static final String CANCEL_FIELD = EnrollmentKeys.pendingCancelField("CSE00001_01", "S1");
+
+    @BeforeEach
+    void createGroup() {
+        // 그룹은 스트림이 있어야 만들 수 있으므로 레코드 하나로 스트림을 만들고 비운다
+        redisTemplate.opsForStream().add(STREAM, Map.of("op", "INIT"));
+        redisTemplate.opsForStream().createGroup(STREAM, ReadOffset.from("0"), GROUP);
+        redisTemplate.opsForStream().trim(STREAM, 0);
+    }
+
+    private RecordId add(String op) {
+        return redisTemplate.opsForStream().add(STREAM, Map.of("op", op, "studentNo", "S1", "courseCode", "CSE00001_01"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, Object, Object>> read(int count) {
+        return redisTemplate.opsForStream().read(Consumer.from(GROUP, "test"),
+                StreamReadOptions.empty().count(count), StreamOffset.create(STREAM, ReadOffset.lastConsumed()));
+    }
+
+    private Long ack(List<MapRecord<String, Object, Object>> records) {
+        List<Object> args = new ArrayList<>();
+        args.add(GROUP);
+        for (MapRecord<String, Object, Object> record : records) {
+            args.add(record.getId().getValue());
+            args.add(EnrollmentDbWriterService.OP_CANCEL.equals(record.getValue().get("op")) ? CANCEL_FIELD : "");
+        }
+        return redisTemplate.execute(ACK, List.of(STREAM, EnrollmentKeys.pendingCancels()), args.toArray());
+    }
+
+    @Test
+    void drainedRecordsAreRemovedFromStream() {
+        for (int i = 0; i < 5; i++) {
+            add(EnrollmentDbWriterService.OP_ENROLL);
+        }
+        assertThat(redisTemplate.opsForStream().size(STREAM)).isEqualTo(5L);
+
+        assertThat(ack(read(3))).isEqualTo(3L);
+        assertThat(redisTemplate.opsForStream().size(STREAM)).isEqualTo(2L);
+
+        assertThat(ack(read(10))).isEqualTo(2L);
+        assertThat(redisTemplate.opsForStream().size(STREAM)).isZero();
+        assertThat(redisTemplate.opsForStream().pending(STREAM, GROUP).getTotalPendingMessages()).isZero();
+    }
+
+    @Test
+    void unreadRecordsStayInStream() {
+        add(EnrollmentDbWriterService.OP_ENROLL);
+        RecordId unread = add(EnrollmentDbWriterService.OP_ENROLL);
+
+        ack(read(1));
+
+        assertThat(redisTemplate.opsForStream().range(STREAM, Range.unbounded()))
+                .extracting(MapRecord::getId)
+                .containsExactly(unread);
+    }
+
+    @Test
+    void repeatedAckDoesNotReleasePendingCancelTwice() {
+        add(EnrollmentDbWriterService.OP_CANCEL);
+        add(EnrollmentDbWriterService.OP_CANCEL);
+        redisTemplate.opsForHash().put(EnrollmentKeys.pendingCancels(), CANCEL_FIELD, "2");
+        List<MapRecord<String, Object, Object>> first = read(1);
+
+        assertThat(ack(first)).isEqualTo(1L);
+        assertThat(ack(first)).isZero();
+
+        assertThat(redisTemplate.opsForHash().get(EnrollmentKeys.pendingCancels(), CANCEL_FIELD)).isEqualTo("1");
+        assertThat(redisTemplate.opsForStream().size(STREAM)).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimetableServiceTest {
+
+    private TimetableService timetableService;
+
+    private static TimetableService.TimeBlock block(int dayOfWeek, String start, String end) {
+        return new TimetableService.TimeBlock(dayOfWeek, LocalTime.parse(start), LocalTime.parse(end));
+    }
+
+    @BeforeEach
+    void setUp() {
+        timetableService = new TimetableService();
+        timetableService.reindex(List.of(
+                new TimetableService.CourseTimes("A_01", "P1", "101", List.of(block(1, "09:00", "10:30"))),
+                new TimetableService.CourseTimes("B_01", "P2", "102", List.of(block(1, "10:00", "11:00"))),
+                new TimetableService.CourseTimes("C_01", "P1", "101", List.of(block(1, "10:30", "12:00"), block(3, "09:00", "10:00")))));
+    }
+
+    @Test
+    void findsEnrolledCourseThatOverlaps() {
+        assertThat(timetableService.findCourseConflict(List.of("A_01"), "B_01")).contains("A_01");
+        assertThat(timetableService.findCourseConflict(List.of("C_01"), "B_01")).contains("C_01");
+    }
+
+    @Test
+    void ignoresBackToBackAndUnknownCourses() {
+        assertThat(timetableService.findCourseConflict(List.of("A_01"), "C_01")).isEmpty();
+        assertThat(timetableService.findCourseConflict(List.of("GONE_01"), "B_01")).isEmpty();
+        assertThat(timetableService.findCourseConflict(List.of("A_01"), "GONE_01")).isEmpty();
+        // 이미 신청한 강의 자신과는 비교하지 않는다
+        assertThat(timetableService.findCourseConflict(List.of("B_01"), "B_01")).isEmpty();
+    }
+
+    @Test
+    void professorConflictExcludesCourseBeingEdited() {
+        List<TimetableService.TimeBlock> blocks = List.of(block(3, "09:30", "10:30"));
+
+        assertThat(timetableService.findProfessorConflict("P1", blocks, null)).contains("C_01");
+        assertThat(timetableService.findProfessorConflict("P1", blocks, "C_01")).isEmpty();
+        assertThat(timetableService.findProfessorConflict("P2", blocks, null)).isEmpty();
+    }
+
+    @Test
+    void reflectsIncrementalUpdates() {
+        timetableService.index(new TimetableService.CourseTimes("B_01", "P2", "102", List.of(block(2, "10:00", "11:00"))));
+        assertThat(timetableService.findCourseConflict(List.of("A_01"), "B_01")).isEmpty();
+
+        timetableService.remove("A_01");
+        assertThat(timetableService.findProfessorConflict("P1", List.of(block(1, "09:00", "10:00")), null)).isEmpty();
+    }
+
+    @Test
+    void rejectsLookupsUntilFirstFullIndex() {
+        TimetableService notLoaded = new TimetableService();
+        // 전체 색인 전의 증분 반영만으로는 적재 완료가 아니다
+        notLoaded.index(new TimetableService.CourseTimes("A_01", "P1", "101", List.of(block(1, "09:00", "10:30"))));
+        List<TimetableService.TimeBlock> blocks = List.of(block(1, "09:00", "10:00"));
+
+        assertThatThrownBy(() -> notLoaded.findProfessorConflict("P1", blocks, null)).isInstanceOf(ServiceOverloadedException.class);
+        assertThatThrownBy(() -> notLoaded.findRoomConflict("101", blocks, null)).isInstanceOf(ServiceOverloadedException.class);
+        assertThatThrownBy(() -> notLoaded.findCourseConflict(List.of("A_01"), "B_01")).isInstanceOf(ServiceOverloadedException.class);
+        assertThatThrownBy(() -> notLoaded.findFreeRooms(blocks)).isInstanceOf(ServiceOverloadedException.class);
+
+        notLoaded.reindex(List.of());
+        assertThat(notLoaded.findFreeRooms(blocks)).isEmpty();
+    }
+}
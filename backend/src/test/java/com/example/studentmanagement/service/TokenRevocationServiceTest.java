@@ -0,0 +1,107 @@
+package com.example.studentmanagement.service;
+
+import com.example.studentmanagement.util.AuthPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenRevocationServiceTest extends RedisScriptTestSupport {
+
+    private final List<RedisMessageListenerContainer> containers = new ArrayList<>();
+
+    @AfterEach
+    void stopContainers() throws Exception {
+        for (RedisMessageListenerContainer container : containers) {
+            container.destroy();
+        }
+    }
+
+    // 노드 하나에 해당하는 서비스 (각자 Bloom filter 와 pub/sub 구독을 가진다)
+    private TokenRevocationService node() {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory());
+        container.afterPropertiesSet();
+        container.start();
+        containers.add(container);
+        TokenRevocationService service = new TokenRevocationService(redisTemplate, container, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "expectedSize", 1000);
+        ReflectionTestUtils.setField(service, "falsePositiveRate", 0.01);
+        service.rebuild();
+        return service;
+    }
+
+    private static AuthPrincipal principal(long expiresInMs) {
+        return new AuthPrincipal("user", "STUDENT", "20240001", "CSE", UUID.randomUUID().toString(),
+                System.currentTimeMillis() + expiresInMs);
+    }
+
+    @Test
+    void revokedTokenIsRejectedAndOthersAreNot() {
+        TokenRevocationService service = node();
+        AuthPrincipal revoked = principal(60_000);
+        AuthPrincipal active = principal(60_000);
+
+        service.revoke(revoked);
+
+        assertThat(service.isRevoked(revoked)).isTrue();
+        assertThat(service.isRevoked(active)).isFalse();
+        assertThat(redisTemplate.getExpire("auth:revoked:" + revoked.tokenId())).isBetween(1L, 60L);
+    }
+
+    @Test
+    void expiredTokenIsNotStored() {
+        TokenRevocationService service = node();
+        AuthPrincipal expired = principal(-1_000);
+
+        service.revoke(expired);
+
+        assertThat(redisTemplate.hasKey("auth:revoked:" + expired.tokenId())).isFalse();
+        assertThat(redisTemplate.opsForZSet().zCard("auth:revoked:index")).isZero();
+    }
+
+    @Test
+    void otherNodesLearnAboutRevocation() throws InterruptedException {
+        TokenRevocationService revoking = node();
+        TokenRevocationService other = node();
+        AuthPrincipal revoked = principal(60_000);
+
+        revoking.revoke(revoked);
+
+        // pub/sub 알림은 비동기로 도착한다
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!other.isRevoked(revoked) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(other.isRevoked(revoked)).isTrue();
+    }
+
+    @Test
+    void rebuildRestoresRevocationsMissedWhileOffline() {
+        AuthPrincipal revoked = principal(60_000);
+        node().revoke(revoked);
+
+        // 알림 이후에 기동한 노드는 Redis 목록에서 filter 를 만든다
+        TokenRevocationService late = node();
+
+        assertThat(late.isRevoked(revoked)).isTrue();
+    }
+
+    @Test
+    void indexDropsExpiredEntries() throws InterruptedException {
+        TokenRevocationService service = node();
+        service.revoke(principal(50));
+        Thread.sleep(100);
+
+        service.revoke(principal(60_000));
+
+        assertThat(redisTemplate.opsForZSet().zCard("auth:revoked:index")).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.studentmanagement.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeekMaskTest {
+
+    private static WeekMask mask(int dayOfWeek, String start, String end) {
+        return WeekMask.builder().add(dayOfWeek, LocalTime.parse(start), LocalTime.parse(end)).build();
+    }
+
+    @Test
+    void overlappingBlocksOnSameDayIntersect() {
+        assertThat(mask(1, "09:00", "10:30").intersects(mask(1, "10:00", "11:00"))).isTrue();
+        assertThat(mask(1, "09:00", "12:00").intersects(mask(1, "10:00", "11:00"))).isTrue();
+    }
+
+    @Test
+    void backToBackBlocksDoNotIntersect() {
+        // [start, end) 구간이므로 10:00 에 끝나는 수업과 10:00 에 시작하는 수업은 겹치지 않는다
+        assertThat(mask(2, "09:00", "10:00").intersects(mask(2, "10:00", "11:00"))).isFalse();
+        assertThat(mask(2, "10:00", "11:00").intersects(mask(2, "09:00", "10:00"))).isFalse();
+    }
+
+    @Test
+    void sameTimeOnDifferentDaysDoesNotIntersect() {
+        assertThat(mask(1, "09:00", "10:00").intersects(mask(3, "09:00", "10:00"))).isFalse();
+    }
+
+    @Test
+    void detectsSingleMinuteOverlapAcrossWordBoundaries() {
+        // 분 63/64 는 long 한 개의 경계 (01:03 / 01:04), 23:59 는 마지막 word
+        assertThat(mask(4, "00:00", "01:04").intersects(mask(4, "01:03", "02:00"))).isTrue();
+        assertThat(mask(4, "00:00", "01:04").intersects(mask(4, "01:04", "02:00"))).isFalse();
+        assertThat(mask(7, "23:00", "23:59").intersects(mask(7, "23:58", "23:59"))).isTrue();
+    }
+
+    @Test
+    void unionCoversEveryMergedCourse() {
+        WeekMask merged = WeekMask.builder()
+                .or(mask(1, "09:00", "10:00"))
+                .or(mask(3, "13:00", "15:00"))
+                .build();
+
+        assertThat(merged.intersects(mask(1, "09:30", "09:45"))).isTrue();
+        assertThat(merged.intersects(mask(3, "14:59", "16:00"))).isTrue();
+        assertThat(merged.intersects(mask(3, "15:00", "16:00"))).isFalse();
+        assertThat(merged.intersects(mask(2, "09:00", "10:00"))).isFalse();
+    }
+
+    @Test
+    void unionDoesNotModifyMergedMasks() {
+        WeekMask monday = mask(1, "09:00", "10:00");
+        WeekMask.builder().or(monday).add(1, LocalTime.parse("12:00"), LocalTime.parse("13:00")).build();
+
+        assertThat(monday.intersects(mask(1, "12:00", "13:00"))).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidBlocks() {
+        assertThatThrownBy(() -> mask(0, "09:00", "10:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> mask(8, "09:00", "10:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> mask(1, "10:00", "10:00")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> mask(1, "11:00", "10:00")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.studentmanagement.util;
+
+import com.example.studentmanagement.service.RedisScriptTestSupport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdempotencyFilterTest extends RedisScriptTestSupport {
+
+    private IdempotencyFilter filter;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    // 컨트롤러 대신 본문을 그대로 돌려준다 (필터가 미리 읽은 본문이 컨트롤러까지 전달되는지 확인용)
+    private final FilterChain echo = (request, response) -> {
+        calls.incrementAndGet();
+        String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"received\":" + body + "}");
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotencyFilter(redisTemplate, new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "ttlHours", 1L);
+        ReflectionTestUtils.setField(filter, "lockSeconds", 30L);
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/enrollments");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, body), response, chain);
+        return response;
+    }
+
+    @Test
+    void passesBodyThroughAndReplaysSameRequest() throws Exception {
+        MockHttpServletResponse first = send("k1", "{\"courseCode\":\"A\"}", echo);
+        MockHttpServletResponse second = send("k1", "{\"courseCode\":\"A\"}", echo);
+
+        assertThat(first.getContentAsString()).isEqualTo("{\"received\":{\"courseCode\":\"A\"}}");
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString());
+        assertThat(second.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsSameKeyWithDifferentBody() throws Exception {
+        send("k1", "{\"courseCode\":\"A\"}", echo);
+
+        MockHttpServletResponse response = send("k1", "{\"courseCode\":\"B\"}", echo);
+
+        assertThat(response.getStatus()).isEqualTo(422);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void distinguishesRequestsInProgress() throws Exception {
+        MockHttpServletResponse[] nested = new MockHttpServletResponse[2];
+        // 첫 요청을 처리하는 도중에 같은 키로 두 요청이 더 도착한 경우
+        send("k1", "{\"courseCode\":\"A\"}", (request, response) -> {
+            try {
+                nested[0] = send("k1", "{\"courseCode\":\"A\"}", echo);
+                nested[1] = send("k1", "{\"courseCode\":\"B\"}", echo);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            echo.doFilter(request, response);
+        });
+
+        assertThat(nested[0].getStatus()).isEqualTo(409);
+        assertThat(nested[1].getStatus()).isEqualTo(422);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotStoreServerErrors() throws Exception {
+        send("k1", "{}", (request, response) -> {
+            calls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(503);
+        });
+        MockHttpServletResponse retry = send("k1", "{}", echo);
+
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void fingerprintSeparatesQueryStringFromBody() {
+        byte[] empty = new byte[0];
+        byte[] body = "a=1".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(IdempotencyFilter.fingerprint("a=1", empty)).isNotEqualTo(IdempotencyFilter.fingerprint(null, body));
+        assertThat(IdempotencyFilter.fingerprint(null, body)).isEqualTo(IdempotencyFilter.fingerprint(null, body.clone()));
+    }
+
+    @Test
+    void supportsNonBlockingReadOfCachedBody() throws Exception {
+        List<String> events = new ArrayList<>();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        FilterChain async = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    events.add("available");
+                    while (in.isReady() && !in.isFinished()) {
+                        read.write(in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    events.add("done");
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    events.add("error");
+                }
+            });
+        };
+
+        send("k1", "{\"courseCode\":\"A\"}", async);
+
+        assertThat(events).containsExactly("available", "done");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"courseCode\":\"A\"}");
+    }
+}
@@ -108,6 +108,7 @@ CREATE TABLE `course` (
 	`professor_no` VARCHAR(20) NULL DEFAULT NULL COLLATE 'utf8mb4_0900_ai_ci',
 	`max_stu` INT NULL DEFAULT NULL,
 	`classroom` VARCHAR(50) NULL DEFAULT NULL COMMENT '강의실' COLLATE 'utf8mb4_0900_ai_ci',
+	`waitlist_capacity` INT NULL DEFAULT NULL COMMENT '대기열 정원 (NULL = 대기열 미사용)',
 	`course_objectives` TEXT NULL DEFAULT NULL COMMENT '강의 목표' COLLATE 'utf8mb4_0900_ai_ci',
 	`course_content` TEXT NULL DEFAULT NULL COMMENT '강의 내용' COLLATE 'utf8mb4_0900_ai_ci',
 	`evaluation_method` JSON NULL DEFAULT NULL COMMENT '강의 평가 방법 및 비율 (JSON 형식)',
@@ -264,6 +265,27 @@ CREATE TABLE `enrollment` (
 )
 COLLATE='utf8mb4_0900_ai_ci' ENGINE=InnoDB;
 
+-- 수강신청 write-behind 반영 순번 ((학생, 강의) 별 마지막으로 반영한 Redis Stream 순번, 취소 후에도 유지)
+DROP TABLE IF EXISTS enrollment_write_seq;
+CREATE TABLE `enrollment_write_seq` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT,
+    `stu_no` VARCHAR(20) NOT NULL,
+    `course_code` VARCHAR(20) NOT NULL,
+    `last_seq` BIGINT NOT NULL,
+    PRIMARY KEY (`id`) USING BTREE,
+    UNIQUE INDEX `uk_enrollment_write_seq` (`stu_no`, `course_code`) USING BTREE
+)
+COLLATE='utf8mb4_0900_ai_ci' ENGINE=InnoDB;
+
+-- 과목/강의 코드 번호 시퀀스 (키별 마지막 발급 값, 노드가 미리 받아 둔 블록 포함)
+DROP TABLE IF EXISTS code_sequence;
+CREATE TABLE `code_sequence` (
+    `seq_key` VARCHAR(64) NOT NULL,
+    `last_value` BIGINT NOT NULL,
+    PRIMARY KEY (`seq_key`) USING BTREE
+)
+COLLATE='utf8mb4_0900_ai_ci' ENGINE=InnoDB;
+
 -- =====================================================
 -- 11) grade
 -- =====================================================
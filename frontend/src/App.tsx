@@ -6,6 +6,7 @@ import type { User, UserRole, Course } from "./types";
 import Auth from "./components/Auth";
 import LandingPage from "./components/LandingPage";
 import AppRoutes from "./routes";
+import { logout } from "./api";
 
 const App: React.FC = () => {
   const [user, setUser] = useState<User | null>(() => {
@@ -29,6 +30,8 @@ const App: React.FC = () => {
   };
 
   const handleLogout = () => {
+    // Reads the tokens before they are cleared below; the server call finishes in the background
+    logout();
     localStorage.removeItem("token");
     localStorage.removeItem("refreshToken");
     localStorage.removeItem("user");
@@ -21,6 +21,40 @@ api.interceptors.request.use(
   }
 );
 
+// Refresh tokens rotate on every use: the server returns a new refreshToken and the old one
+// stops working, so both tokens must be stored. Concurrent 401s in this tab share one refresh call.
+let refreshing: Promise<string> | null = null;
+
+const wait = (ms: number) => new Promise((resolve) => setTimeout(resolve, ms));
+
+const refreshAccessToken = async (): Promise<string> => {
+  const refreshToken = localStorage.getItem('refreshToken');
+  if (!refreshToken) {
+    throw new Error('No refresh token');
+  }
+  try {
+    const response = await axios.post('/api/refreshtoken', { refreshToken });
+    const { accessToken, refreshToken: rotatedRefreshToken } = response.data;
+    localStorage.setItem('token', accessToken);
+    localStorage.setItem('refreshToken', rotatedRefreshToken);
+    return accessToken;
+  } catch (error) {
+    // 409: another tab rotated the same token a moment ago. Its new tokens land in the shared
+    // localStorage, so wait for them instead of logging out.
+    if (axios.isAxiosError(error) && error.response?.status === 409) {
+      for (let attempt = 0; attempt < 5; attempt++) {
+        await wait(300);
+        const storedRefreshToken = localStorage.getItem('refreshToken');
+        const storedToken = localStorage.getItem('token');
+        if (storedRefreshToken && storedRefreshToken !== refreshToken && storedToken) {
+          return storedToken;
+        }
+      }
+    }
+    throw error;
+  }
+};
+
 // Response interceptor to handle 401 errors and refresh token
 api.interceptors.response.use(
   (response) => response,
@@ -28,12 +62,11 @@ api.interceptors.response.use(
     const originalRequest = error.config;
 
     // If the error is 401 and it's not a retry request
-    if (error.response.status === 401 && !originalRequest._retry) {
+    if (error.response?.status === 401 && !originalRequest._retry) {
       originalRequest._retry = true;
 
       try {
-        const refreshToken = localStorage.getItem('refreshToken');
-        if (!refreshToken) {
+        if (!localStorage.getItem('refreshToken')) {
             // No refresh token, logout user
             localStorage.removeItem('token');
             localStorage.removeItem('refreshToken');
@@ -42,10 +75,12 @@ api.interceptors.response.use(
             return Promise.reject(error);
         }
 
-        const response = await axios.post('/api/refreshtoken', { refreshToken });
-        const { accessToken } = response.data;
-
-        localStorage.setItem('token', accessToken);
+        if (!refreshing) {
+          refreshing = refreshAccessToken().finally(() => {
+            refreshing = null;
+          });
+        }
+        const accessToken = await refreshing;
 
         // Update the authorization header with the new token
         api.defaults.headers.common['Authorization'] = `Bearer ${accessToken}`;
@@ -67,4 +102,20 @@ api.interceptors.response.use(
   }
 );
 
+// Revokes the access token and the refresh session on the server. Works with an expired access
+// token too, so local state can always be cleared afterwards.
+export const logout = async () => {
+  const token = localStorage.getItem('token');
+  const refreshToken = localStorage.getItem('refreshToken');
+  try {
+    await axios.post(
+      '/api/logout',
+      { refreshToken },
+      token ? { headers: { Authorization: `Bearer ${token}` } } : undefined,
+    );
+  } catch {
+    // The session expires on its own; logging out locally must not depend on the server
+  }
+};
+
 export default api;